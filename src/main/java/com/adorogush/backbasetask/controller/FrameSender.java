@@ -0,0 +1,103 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.controller;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendResult;
+
+/**
+ * Sends the frames of one WebSocket asynchronously, one at a time and without a queue. While a
+ * frame is being sent, a newer state replaces the state waiting to be sent, so a client that does
+ * not keep up gets the latest state as soon as it catches up and never costs more than two frames
+ * of memory. A send that fails or times out is reported to {@code onFailure}.
+ */
+final class FrameSender {
+
+  private final RemoteEndpoint.Async remote;
+  private final Consumer<Throwable> onFailure;
+  private long offeredVersion = -1;
+  private boolean sending;
+  private ByteBuffer pendingState;
+  private ByteBuffer pendingError;
+
+  FrameSender(final RemoteEndpoint.Async remote, final Consumer<Throwable> onFailure) {
+    this.remote = remote;
+    this.onFailure = onFailure;
+  }
+
+  /**
+   * Sends a state frame unless a newer state has been sent already.
+   *
+   * @param frame shared by all senders, it is only read through a duplicate
+   * @return {@code true} if the frame replaced a state that was not sent yet
+   */
+  boolean sendState(final long version, final ByteBuffer frame) {
+    final boolean replaced;
+    synchronized (this) {
+      if (version <= offeredVersion) {
+        return false;
+      }
+      offeredVersion = version;
+      if (sending) {
+        replaced = pendingState != null;
+        pendingState = frame;
+        return replaced;
+      }
+      sending = true;
+    }
+    send(frame);
+    return false;
+  }
+
+  /** Sends an error frame after the state being sent, if any. */
+  void sendError(final ByteBuffer frame) {
+    synchronized (this) {
+      if (sending) {
+        pendingError = frame;
+        return;
+      }
+      sending = true;
+    }
+    send(frame);
+  }
+
+  private void send(final ByteBuffer frame) {
+    remote.sendBinary(frame.duplicate(), this::onSent);
+  }
+
+  private void onSent(final SendResult result) {
+    if (!result.isOK()) {
+      onFailure.accept(result.getException());
+      return;
+    }
+    final ByteBuffer next;
+    synchronized (this) {
+      if (pendingState != null) {
+        next = pendingState;
+        pendingState = null;
+      } else if (pendingError != null) {
+        next = pendingError;
+        pendingError = null;
+      } else {
+        sending = false;
+        return;
+      }
+    }
+    send(next);
+  }
+}
@@ -0,0 +1,68 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.controller;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Binary frames of the game WebSocket. A client sends a move as a single byte, the 1-based pit id.
+ * The server sends frames that start with a type byte:
+ *
+ * <ul>
+ *   <li>{@value #STATE}: version (8 bytes), next player (1 byte, 0 or 1, -1 before the first move),
+ *       game over (1 byte) and every pit as an unsigned 16-bit integer, 39 bytes for the standard
+ *       board
+ *   <li>{@value #ERROR}: the HTTP status code the REST endpoint would return (2 bytes) followed by
+ *       the UTF-8 message
+ * </ul>
+ *
+ * <p>All numbers are big-endian.
+ */
+final class GameFrames {
+
+  static final byte STATE = 1;
+  static final byte ERROR = 2;
+
+  private GameFrames() {}
+
+  /** A read-only frame, to be {@link ByteBuffer#duplicate() duplicated} for every send. */
+  static ByteBuffer state(final GameAndPits gameAndPits) {
+    final Game game = gameAndPits.game();
+    final int[] pits = gameAndPits.pits();
+    final ByteBuffer frame = ByteBuffer.allocate(11 + pits.length * 2);
+    frame.put(STATE);
+    frame.putLong(game.version());
+    frame.put(game.nextPlayer() == null ? -1 : (byte) game.nextPlayer().index());
+    frame.put(game.gameOver() ? (byte) 1 : 0);
+    for (final int stones : pits) {
+      frame.putShort((short) stones);
+    }
+    return frame.flip().asReadOnlyBuffer();
+  }
+
+  static ByteBuffer error(final ResponseStatusException e) {
+    final byte[] message = String.valueOf(e.getReason()).getBytes(StandardCharsets.UTF_8);
+    final ByteBuffer frame = ByteBuffer.allocate(3 + message.length);
+    frame.put(ERROR);
+    frame.putShort((short) e.getStatus().value());
+    frame.put(message);
+    return frame.flip();
+  }
+}
@@ -0,0 +1,363 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.controller;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.GameChangedEvent;
+import com.adorogush.backbasetask.model.GameDeletedEvent;
+import com.adorogush.backbasetask.model.GameRestResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event subscriptions to game changes. An idle subscription is an open asynchronous
+ * request and holds no thread. Events are encoded once per distinct game URI by a single thread and
+ * written to every subscriber as a single chunk by {@code gameEvents.senders} writer threads. Like
+ * {@link FrameSender} does for WebSockets, each subscriber has at most one write in flight and a
+ * newer state replaces the one waiting for it, so every subscriber gets the states of its game in
+ * version order and one that does not keep up skips states. A subscriber whose write takes longer
+ * than {@code gameEvents.sendTimeLimit} is dropped and its blocked writer thread is replaced until
+ * the write fails, so it does not hold up other subscribers. Subscriptions end after {@code
+ * gameEvents.timeout}, clients are expected to reconnect.
+ */
+@Component
+public class GameSubscriptions {
+
+  private static final Logger log = LogManager.getLogger();
+
+  private final ObjectMapper objectMapper;
+  private final long timeoutMillis;
+  private final long sendTimeLimitNanos;
+  private final ConcurrentMap<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+  private final AtomicInteger subscriptionCount;
+  private final Counter coalesced;
+  private final Counter dropped;
+  private final ScheduledExecutorService dispatcher =
+      Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "game-events"));
+  private final ThreadPoolExecutor writers;
+
+  public GameSubscriptions(
+      final ObjectMapper objectMapper,
+      @Value("${gameEvents.timeout}") final Duration timeout,
+      @Value("${gameEvents.sendTimeLimit}") final Duration sendTimeLimit,
+      @Value("${gameEvents.senders}") final int senders,
+      final MeterRegistry meterRegistry) {
+    this.objectMapper = objectMapper;
+    this.timeoutMillis = timeout.toMillis();
+    this.sendTimeLimitNanos = sendTimeLimit.toNanos();
+    this.subscriptionCount = meterRegistry.gauge("games.subscriptions", new AtomicInteger());
+    this.coalesced = meterRegistry.counter("games.subscriptions.coalesced");
+    this.dropped = meterRegistry.counter("games.subscriptions.dropped");
+    final AtomicInteger writerCount = new AtomicInteger();
+    this.writers =
+        new ThreadPoolExecutor(
+            senders,
+            senders,
+            1,
+            TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(),
+            r -> new Thread(r, "game-events-writer-" + writerCount.incrementAndGet()));
+    final long checkIntervalMillis = Math.max(1, sendTimeLimit.toMillis() / 2);
+    dispatcher.scheduleWithFixedDelay(
+        this::dropSlowSubscribers, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Subscribes to the game. The subscription is registered before {@code currentState} is read, so
+   * no move committed in between is missed.
+   */
+  public ResponseBodyEmitter subscribe(
+      final String gameId, final URI gameUri, final Supplier<GameAndPits> currentState) {
+    final Subscription subscription = new Subscription(gameId, gameUri);
+    subscriptions.compute(
+        gameId,
+        (id, gameSubscriptions) -> {
+          final Set<Subscription> set =
+              gameSubscriptions == null ? ConcurrentHashMap.newKeySet() : gameSubscriptions;
+          set.add(subscription);
+          return set;
+        });
+    subscriptionCount.incrementAndGet();
+    final GameAndPits current;
+    try {
+      current = currentState.get();
+    } catch (final RuntimeException e) {
+      remove(subscription);
+      throw e;
+    }
+    dispatcher.execute(() -> subscription.offer(current, new HashMap<>(1)));
+    return subscription.emitter;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onGameChanged(final GameChangedEvent event) {
+    final GameAndPits gameAndPits = event.gameAndPits();
+    final Set<Subscription> gameSubscriptions = subscriptions.get(gameAndPits.game().id());
+    if (gameSubscriptions == null) {
+      return;
+    }
+    dispatcher.execute(
+        () -> {
+          final Map<URI, byte[]> encoded = new HashMap<>(2);
+          for (final Subscription subscription : gameSubscriptions) {
+            subscription.offer(gameAndPits, encoded);
+          }
+        });
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onGameDeleted(final GameDeletedEvent event) {
+    final Set<Subscription> gameSubscriptions = subscriptions.get(event.gameId());
+    if (gameSubscriptions == null) {
+      return;
+    }
+    dispatcher.execute(() -> gameSubscriptions.forEach(Subscription::finish));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    dispatcher.shutdownNow();
+    writers.shutdownNow();
+  }
+
+  /** Creates the emitter of a new subscription. */
+  ResponseBodyEmitter newEmitter(final long timeoutMillis) {
+    return new EventStreamEmitter(timeoutMillis);
+  }
+
+  private void dropSlowSubscribers() {
+    final long now = System.nanoTime();
+    for (final Set<Subscription> gameSubscriptions : subscriptions.values()) {
+      for (final Subscription subscription : gameSubscriptions) {
+        subscription.dropIfSlow(now);
+      }
+    }
+  }
+
+  /** Adds or removes a writer thread in place of one blocked by a dropped subscriber. */
+  private void resizeWriters(final int delta) {
+    synchronized (writers) {
+      if (delta > 0) {
+        writers.setMaximumPoolSize(writers.getMaximumPoolSize() + delta);
+        writers.setCorePoolSize(writers.getCorePoolSize() + delta);
+      } else {
+        writers.setCorePoolSize(writers.getCorePoolSize() + delta);
+        writers.setMaximumPoolSize(writers.getMaximumPoolSize() + delta);
+      }
+    }
+  }
+
+  private void remove(final Subscription subscription) {
+    subscriptions.computeIfPresent(
+        subscription.gameId,
+        (id, gameSubscriptions) -> {
+          if (gameSubscriptions.remove(subscription)) {
+            subscriptionCount.decrementAndGet();
+          }
+          return gameSubscriptions.isEmpty() ? null : gameSubscriptions;
+        });
+  }
+
+  /** The whole event in the {@code text/event-stream} format. */
+  private byte[] encode(final GameAndPits gameAndPits, final URI gameUri) {
+    final Game game = gameAndPits.game();
+    final String json;
+    try {
+      json =
+          objectMapper.writeValueAsString(
+              new GameRestResponse(
+                  game.id(), gameUri, gameAndPits.pits(), game.nextPlayer(), game.gameOver()));
+    } catch (final JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+    return ("id:" + game.version() + "\nevent:game\ndata:" + json + "\n\n")
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Events are offered by the dispatcher thread and written by one writer thread at a time; the
+   * state shared by both is guarded by the subscription.
+   */
+  private final class Subscription {
+    private final String gameId;
+    private final URI gameUri;
+    private final ResponseBodyEmitter emitter;
+    private long offeredVersion = -1;
+    private byte[] pendingEvent;
+    private boolean completing;
+    private boolean writing;
+    private boolean inWrite;
+    private long writeStart;
+    private boolean tooSlow;
+
+    private Subscription(final String gameId, final URI gameUri) {
+      this.gameId = gameId;
+      this.gameUri = gameUri;
+      this.emitter = newEmitter(timeoutMillis);
+      emitter.onCompletion(() -> remove(this));
+      emitter.onTimeout(() -> remove(this));
+      emitter.onError(e -> remove(this));
+    }
+
+    /**
+     * Writes the state unless a newer one has been offered, the subscription ends after game over.
+     */
+    private void offer(final GameAndPits gameAndPits, final Map<URI, byte[]> encoded) {
+      final Game game = gameAndPits.game();
+      synchronized (this) {
+        if (game.version() <= offeredVersion || completing || tooSlow) {
+          return;
+        }
+        offeredVersion = game.version();
+        if (pendingEvent != null) {
+          coalesced.increment();
+        }
+        pendingEvent = encoded.computeIfAbsent(gameUri, uri -> encode(gameAndPits, uri));
+        completing = game.gameOver();
+        if (writing) {
+          return;
+        }
+        writing = true;
+      }
+      writers.execute(this::write);
+    }
+
+    /** Ends the subscription once the state waiting to be written, if any, is written. */
+    private void finish() {
+      synchronized (this) {
+        if (completing || tooSlow) {
+          return;
+        }
+        completing = true;
+        if (writing) {
+          return;
+        }
+        writing = true;
+      }
+      writers.execute(this::write);
+    }
+
+    private void write() {
+      while (true) {
+        final byte[] event;
+        synchronized (this) {
+          event = pendingEvent;
+          pendingEvent = null;
+          if (event == null && !completing) {
+            writing = false;
+            return;
+          }
+          inWrite = event != null;
+          writeStart = System.nanoTime();
+        }
+        if (event == null) {
+          // stays writing, so nothing is written after completion
+          remove(this);
+          emitter.complete();
+          return;
+        }
+        Exception failure = null;
+        try {
+          emitter.send(event, MediaType.APPLICATION_OCTET_STREAM);
+        } catch (final IOException | IllegalStateException e) {
+          failure = e;
+        }
+        final boolean dropped;
+        synchronized (this) {
+          inWrite = false;
+          dropped = tooSlow;
+        }
+        if (dropped) {
+          resizeWriters(-1);
+          if (failure == null) {
+            emitter.completeWithError(new TimeoutException("Subscriber did not keep up"));
+          }
+          return;
+        }
+        if (failure != null) {
+          // the client is gone or the subscription timed out
+          log.debug("Could not send game {} to a subscriber", gameId, failure);
+          remove(this);
+          return;
+        }
+      }
+    }
+
+    /** Called by the dispatcher thread. */
+    private void dropIfSlow(final long now) {
+      synchronized (this) {
+        if (!inWrite || tooSlow || now - writeStart < sendTimeLimitNanos) {
+          return;
+        }
+        tooSlow = true;
+        pendingEvent = null;
+      }
+      log.debug("Dropped a subscriber of game {} that did not keep up", gameId);
+      remove(this);
+      dropped.increment();
+      // the write stays blocked until the connection times out
+      resizeWriters(1);
+    }
+  }
+
+  /**
+   * Unlike {@link SseEmitter} writes already encoded events, so that sending one takes a single
+   * write and flush.
+   */
+  private static final class EventStreamEmitter extends ResponseBodyEmitter {
+
+    private EventStreamEmitter(final long timeoutMillis) {
+      super(timeoutMillis);
+    }
+
+    @Override
+    protected void extendResponse(final ServerHttpResponse outputMessage) {
+      super.extendResponse(outputMessage);
+      outputMessage.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+    }
+  }
+}
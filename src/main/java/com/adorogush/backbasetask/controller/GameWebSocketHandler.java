@@ -0,0 +1,243 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.controller;
+
+import com.adorogush.backbasetask.exception.ValidationException;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.GameChangedEvent;
+import com.adorogush.backbasetask.model.GameDeletedEvent;
+import com.adorogush.backbasetask.service.GameIdCodec;
+import com.adorogush.backbasetask.service.GameService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+/**
+ * WebSocket endpoints {@code /games/{gameId}/ws} for real-time play and {@code
+ * /games/{gameId}/spectate} for spectators, see {@link GameFrames} for the frame format. A
+ * connected client gets the current state of the game right away, then the new state after every
+ * move of the game until the game is deleted. Moves go through {@link GameService#makeMove(String,
+ * int)} and are rejected with an error frame where the REST endpoint would respond with an error;
+ * spectators can not move.
+ *
+ * <p>The player who made a move gets the new state from the thread that handled the move. A single
+ * thread encodes the state once and hands the same read-only buffer to every other client of the
+ * game. No thread waits for a client: a client that does not keep up has its pending state replaced
+ * by newer ones, see {@link FrameSender}, and is disconnected when a send takes longer than {@code
+ * gameWebSocket.sendTimeLimit}. The server-side handling time of moves is published as the {@code
+ * games.websocket.moves} timer.
+ */
+@Component
+public class GameWebSocketHandler extends BinaryWebSocketHandler {
+
+  private static final Logger log = LogManager.getLogger();
+  private static final String GAME_SESSION = GameSession.class.getName();
+  private static final String SPECTATE = "/spectate";
+  private static final CloseStatus GAME_DELETED = CloseStatus.NORMAL.withReason("Game deleted.");
+
+  private final GameService gameService;
+  private final long sendTimeLimitMillis;
+  private final Timer moveTimer;
+  private final Counter coalesced;
+  private final Counter dropped;
+  private final AtomicInteger sessionCount;
+  private final ConcurrentMap<String, Set<GameSession>> sessions = new ConcurrentHashMap<>();
+  private final ExecutorService broadcaster =
+      Executors.newSingleThreadExecutor(r -> new Thread(r, "game-broadcast"));
+
+  public GameWebSocketHandler(
+      final GameService gameService,
+      @Value("${gameWebSocket.sendTimeLimit}") final Duration sendTimeLimit,
+      final MeterRegistry meterRegistry) {
+    this.gameService = gameService;
+    this.sendTimeLimitMillis = sendTimeLimit.toMillis();
+    this.moveTimer =
+        Timer.builder("games.websocket.moves")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    this.coalesced = meterRegistry.counter("games.websocket.coalesced");
+    this.dropped = meterRegistry.counter("games.websocket.dropped");
+    this.sessionCount = meterRegistry.gauge("games.websocket.sessions", new AtomicInteger());
+  }
+
+  @Override
+  public void afterConnectionEstablished(final WebSocketSession session) throws IOException {
+    final String gameId = gameId(session);
+    final GameSession gameSession =
+        new GameSession(gameId, session, session.getUri().getPath().endsWith(SPECTATE));
+    session.getAttributes().put(GAME_SESSION, gameSession);
+    sessions.computeIfAbsent(gameId, id -> ConcurrentHashMap.newKeySet()).add(gameSession);
+    sessionCount.incrementAndGet();
+    final GameAndPits current;
+    try {
+      current = gameService.readGame(gameId);
+    } catch (final ResponseStatusException e) {
+      remove(gameSession);
+      // nothing else has been sent to the session yet
+      session.sendMessage(new BinaryMessage(GameFrames.error(e)));
+      session.close(CloseStatus.NORMAL.withReason(e.getReason()));
+      return;
+    }
+    gameSession.sendState(current.game().version(), GameFrames.state(current));
+  }
+
+  @Override
+  protected void handleBinaryMessage(final WebSocketSession session, final BinaryMessage message) {
+    final long start = System.nanoTime();
+    final GameSession gameSession = (GameSession) session.getAttributes().get(GAME_SESSION);
+    final ByteBuffer payload = message.getPayload();
+    try {
+      if (gameSession.spectator) {
+        throw new ValidationException("Spectators can not move.");
+      }
+      if (payload.remaining() != 1) {
+        throw new ValidationException("A move is a single byte.");
+      }
+      final int pitId = payload.get() & 0xFF;
+      final GameAndPits updated = gameService.makeMove(gameSession.gameId, pitId - 1);
+      gameSession.sendState(updated.game().version(), GameFrames.state(updated));
+    } catch (final ResponseStatusException e) {
+      gameSession.sender.sendError(GameFrames.error(e));
+    }
+    moveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void afterConnectionClosed(final WebSocketSession session, final CloseStatus status) {
+    final GameSession gameSession = (GameSession) session.getAttributes().get(GAME_SESSION);
+    if (gameSession != null) {
+      remove(gameSession);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onGameChanged(final GameChangedEvent event) {
+    final GameAndPits gameAndPits = event.gameAndPits();
+    final Set<GameSession> gameSessions = sessions.get(gameAndPits.game().id());
+    if (gameSessions == null) {
+      return;
+    }
+    broadcaster.execute(
+        () -> {
+          final long version = gameAndPits.game().version();
+          final ByteBuffer frame = GameFrames.state(gameAndPits);
+          for (final GameSession gameSession : gameSessions) {
+            gameSession.sendState(version, frame);
+          }
+        });
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onGameDeleted(final GameDeletedEvent event) {
+    final Set<GameSession> gameSessions = sessions.remove(event.gameId());
+    if (gameSessions != null) {
+      sessionCount.addAndGet(-gameSessions.size());
+      broadcaster.execute(
+          () -> gameSessions.forEach(gameSession -> gameSession.close(GAME_DELETED)));
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    broadcaster.shutdownNow();
+  }
+
+  private void remove(final GameSession gameSession) {
+    sessions.computeIfPresent(
+        gameSession.gameId,
+        (id, gameSessions) -> {
+          if (gameSessions.remove(gameSession)) {
+            sessionCount.decrementAndGet();
+          }
+          return gameSessions.isEmpty() ? null : gameSessions;
+        });
+  }
+
+  /**
+   * The path is {@code /games/{gameId}/ws} or {@code /games/{gameId}/spectate}. The id is converted
+   * to its canonical form; one that is not a game id is kept as is and not found.
+   */
+  private static String gameId(final WebSocketSession session) {
+    final String path = session.getUri().getPath();
+    final int end = path.lastIndexOf('/');
+    final String gameId = path.substring(path.lastIndexOf('/', end - 1) + 1, end);
+    return GameIdCodec.canonical(gameId).orElse(gameId);
+  }
+
+  private final class GameSession {
+    private final String gameId;
+    private final WebSocketSession session;
+    private final boolean spectator;
+    private final FrameSender sender;
+
+    private GameSession(
+        final String gameId, final WebSocketSession session, final boolean spectator) {
+      this.gameId = gameId;
+      this.session = session;
+      this.spectator = spectator;
+      final RemoteEndpoint.Async remote =
+          ((NativeWebSocketSession) session).getNativeSession(Session.class).getAsyncRemote();
+      remote.setSendTimeout(sendTimeLimitMillis);
+      this.sender = new FrameSender(remote, this::drop);
+    }
+
+    private void sendState(final long version, final ByteBuffer frame) {
+      if (sender.sendState(version, frame)) {
+        coalesced.increment();
+      }
+    }
+
+    /** The client is gone or does not keep up. */
+    private void drop(final Throwable cause) {
+      log.debug("Could not send to a session of game {}", gameId, cause);
+      dropped.increment();
+      remove(this);
+      close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private void close(final CloseStatus status) {
+      try {
+        session.close(status);
+      } catch (final IOException e) {
+        log.debug("Could not close a session of game {}", gameId, e);
+      }
+    }
+  }
+}
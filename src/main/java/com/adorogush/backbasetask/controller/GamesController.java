@@ -17,16 +17,31 @@ package com.adorogush.backbasetask.controller;
 
 import static org.springframework.http.ResponseEntity.created;
 
+import com.adorogush.backbasetask.exception.NotFoundException;
+import com.adorogush.backbasetask.model.AiMove;
+import com.adorogush.backbasetask.model.AnalysisRestResponse;
 import com.adorogush.backbasetask.model.Game;
 import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.GameDelta;
+import com.adorogush.backbasetask.model.GameDeltaRestResponse;
 import com.adorogush.backbasetask.model.GameRestResponse;
+import com.adorogush.backbasetask.model.SearchResult;
+import com.adorogush.backbasetask.service.AiMoveService;
+import com.adorogush.backbasetask.service.AnalysisService;
+import com.adorogush.backbasetask.service.GameIdCodec;
 import com.adorogush.backbasetask.service.GameService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
-import java.util.LinkedHashMap;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -34,22 +49,52 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-/** REST controller for {@code /games} endpoints. */
+/**
+ * REST controller for {@code /games} endpoints. Games are represented as JSON by default, or as
+ * CBOR or Smile, the binary forms of the same document, if the {@code Accept} header asks for them.
+ */
 @RestController
 @RequestMapping(path = "/games")
 public class GamesController {
 
+  public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
   private final GameService gameService;
+  private final AiMoveService aiMoveService;
+  private final AnalysisService analysisService;
+  private final GameSubscriptions gameSubscriptions;
+  private final Counter notModifiedReads;
+  private final Counter fullReads;
 
-  public GamesController(final GameService gameService) {
+  public GamesController(
+      final GameService gameService,
+      final AiMoveService aiMoveService,
+      final AnalysisService analysisService,
+      final GameSubscriptions gameSubscriptions,
+      final MeterRegistry meterRegistry) {
     this.gameService = gameService;
+    this.aiMoveService = aiMoveService;
+    this.analysisService = analysisService;
+    this.gameSubscriptions = gameSubscriptions;
+    this.notModifiedReads = meterRegistry.counter("games.reads", "result", "not-modified");
+    this.fullReads = meterRegistry.counter("games.reads", "result", "full");
   }
 
-  @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+  @PostMapping(
+      produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        APPLICATION_SMILE_VALUE
+      })
   public ResponseEntity<GameRestResponse> post(@Autowired final HttpServletRequest request) {
     final GameAndPits gameAndPits = gameService.createGame();
     final Game game = gameAndPits.game();
@@ -57,47 +102,254 @@ public class GamesController {
         new GameRestResponse(
             game.id(),
             buildUriWithGameId(request, game.id()),
-            convertPitsToStatus(gameAndPits.pits()),
+            gameAndPits.pits(),
             game.nextPlayer(),
             game.gameOver());
-    return created(gameRestResponse.uri()).body(gameRestResponse);
+    return created(gameRestResponse.uri()).eTag(eTag(game)).body(gameRestResponse);
+  }
+
+  /**
+   * Creates {@code count} games and responds with a JSON array of their URIs, written as a stream
+   * instead of being built in memory.
+   */
+  @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> postBatch(
+      @Autowired final HttpServletRequest request, @RequestParam("count") final int count) {
+    final List<GameAndPits> games = gameService.createGames(count);
+    final String gamesUri =
+        ServletUriComponentsBuilder.fromContextPath(request).path("/games/").toUriString();
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(
+            outputStream -> {
+              final Writer writer =
+                  new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+              writer.write('[');
+              for (int i = 0; i < games.size(); i++) {
+                if (i > 0) {
+                  writer.write(',');
+                }
+                writer.write('"');
+                writer.write(gamesUri);
+                writer.write(games.get(i).game().id());
+                writer.write('"');
+              }
+              writer.write(']');
+              writer.flush();
+            });
   }
 
-  @GetMapping(value = "/{gameId}", produces = MediaType.APPLICATION_JSON_VALUE)
+  /**
+   * The ETag of a game is its version. A request with a matching {@code If-None-Match} is answered
+   * with {@code 304 Not Modified} after looking up only the version.
+   */
+  @GetMapping(
+      value = "/{gameId}",
+      produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        APPLICATION_SMILE_VALUE
+      })
   public ResponseEntity<GameRestResponse> getOne(
-      @Autowired final HttpServletRequest request, @PathVariable("gameId") final String gameId) {
+      @Autowired final HttpServletRequest request,
+      @PathVariable("gameId") final String requestedGameId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+          final String ifNoneMatch) {
+    final String gameId = canonicalGameId(requestedGameId);
+    if (ifNoneMatch != null) {
+      final String eTag = eTag(gameService.readVersion(gameId));
+      if (matches(ifNoneMatch, eTag)) {
+        notModifiedReads.increment();
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+      }
+    }
+    fullReads.increment();
     final GameAndPits gameAndPits = gameService.readGame(gameId);
     final Game game = gameAndPits.game();
     final GameRestResponse gameRestResponse =
         new GameRestResponse(
             game.id(),
             buildUriWithGameId(request, gameId),
-            convertPitsToStatus(gameAndPits.pits()),
+            gameAndPits.pits(),
             game.nextPlayer(),
             game.gameOver());
-    return ResponseEntity.ok(gameRestResponse);
+    return ResponseEntity.ok().eTag(eTag(game)).body(gameRestResponse);
+  }
+
+  /**
+   * Server-sent events with the state of the game: the current one right away and a new one after
+   * every committed move. The stream ends when the game is over or deleted.
+   */
+  @GetMapping(value = "/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseBodyEmitter subscribe(
+      @Autowired final HttpServletRequest request,
+      @PathVariable("gameId") final String requestedGameId) {
+    final String gameId = canonicalGameId(requestedGameId);
+    return gameSubscriptions.subscribe(
+        gameId, buildUriWithGameId(request, gameId), () -> gameService.readGame(gameId));
   }
 
   @DeleteMapping(value = "/{gameId}", produces = MediaType.APPLICATION_JSON_VALUE)
-  public void deleteOne(@PathVariable("gameId") final String gameId) {
+  public void deleteOne(@PathVariable("gameId") final String requestedGameId) {
+    final String gameId = canonicalGameId(requestedGameId);
     gameService.deleteGame(gameId);
   }
 
-  @PutMapping(value = "/{gameId}/pits/{pitId}")
+  @PutMapping(
+      value = "/{gameId}/pits/{pitId}",
+      produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        APPLICATION_SMILE_VALUE
+      })
   public ResponseEntity<GameRestResponse> putPit(
       @Autowired final HttpServletRequest request,
-      @PathVariable("gameId") final String gameId,
+      @PathVariable("gameId") final String requestedGameId,
       @PathVariable("pitId") final int pitId) {
+    final String gameId = canonicalGameId(requestedGameId);
     final GameAndPits gameAndPits = gameService.makeMove(gameId, pitId - 1);
     final Game game = gameAndPits.game();
     final GameRestResponse gameRestResponse =
         new GameRestResponse(
             game.id(),
             buildUriWithGameId(request, gameId),
-            convertPitsToStatus(gameAndPits.pits()),
+            gameAndPits.pits(),
+            game.nextPlayer(),
+            game.gameOver());
+    return ResponseEntity.ok().eTag(eTag(game)).body(gameRestResponse);
+  }
+
+  /**
+   * Delta mode of {@link #putPit}: responds with only the pits the move changed, next to the next
+   * player, game over and the new version, for clients that keep the board themselves.
+   */
+  @PutMapping(
+      value = "/{gameId}/pits/{pitId}",
+      params = "delta=true",
+      produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        APPLICATION_SMILE_VALUE
+      })
+  public ResponseEntity<GameDeltaRestResponse> putPitDelta(
+      @PathVariable("gameId") final String requestedGameId,
+      @PathVariable("pitId") final int pitId) {
+    final String gameId = canonicalGameId(requestedGameId);
+    final GameDelta delta = gameService.makeMoveDelta(gameId, pitId - 1);
+    return ResponseEntity.ok()
+        .eTag(eTag(delta.gameAndPits().game()))
+        .body(new GameDeltaRestResponse(delta));
+  }
+
+  /**
+   * Lets the server play the move of the next player. The chosen pit (1-based), the depth the
+   * search reached and the nodes it searched per second are sent in {@code Search-*} headers.
+   */
+  @PostMapping(
+      value = "/{gameId}/ai-move",
+      produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        APPLICATION_SMILE_VALUE
+      })
+  public ResponseEntity<GameRestResponse> postAiMove(
+      @Autowired final HttpServletRequest request,
+      @PathVariable("gameId") final String requestedGameId) {
+    final String gameId = canonicalGameId(requestedGameId);
+    final AiMove aiMove = aiMoveService.makeAiMove(gameId);
+    final GameAndPits gameAndPits = aiMove.gameAndPits();
+    final Game game = gameAndPits.game();
+    final SearchResult search = aiMove.search();
+    final GameRestResponse gameRestResponse =
+        new GameRestResponse(
+            game.id(),
+            buildUriWithGameId(request, gameId),
+            gameAndPits.pits(),
             game.nextPlayer(),
             game.gameOver());
-    return ResponseEntity.ok(gameRestResponse);
+    return ResponseEntity.ok()
+        .eTag(eTag(game))
+        .header("Search-Pit-Id", String.valueOf(search.pitId() + 1))
+        .header("Search-Depth", String.valueOf(search.depth()))
+        .header("Search-Nodes-Per-Second", String.valueOf(search.nodesPerSecond()))
+        .body(gameRestResponse);
+  }
+
+  /**
+   * Scores every move of the next player and gives the line of play expected to follow each, as
+   * deep as the search got within {@code analysis.timeBudget}.
+   */
+  @GetMapping(
+      value = "/{gameId}/analysis",
+      produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        APPLICATION_SMILE_VALUE
+      })
+  public AnalysisRestResponse getAnalysis(
+      @Autowired final HttpServletRequest request,
+      @PathVariable("gameId") final String requestedGameId) {
+    final String gameId = canonicalGameId(requestedGameId);
+    return new AnalysisRestResponse(
+        gameId, buildUriWithGameId(request, gameId), analysisService.analyze(gameId));
+  }
+
+  /** Applies the moves of the given pits (1-based) in order and returns the final state. */
+  @PutMapping(
+      value = "/{gameId}/pits",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        APPLICATION_SMILE_VALUE
+      })
+  public ResponseEntity<GameRestResponse> putPits(
+      @Autowired final HttpServletRequest request,
+      @PathVariable("gameId") final String requestedGameId,
+      @RequestBody final int[] pitIds) {
+    final String gameId = canonicalGameId(requestedGameId);
+    final int[] zeroBasedPitIds = new int[pitIds.length];
+    for (int i = 0; i < pitIds.length; i++) {
+      zeroBasedPitIds[i] = pitIds[i] - 1;
+    }
+    final GameAndPits gameAndPits = gameService.makeMoves(gameId, zeroBasedPitIds);
+    final Game game = gameAndPits.game();
+    final GameRestResponse gameRestResponse =
+        new GameRestResponse(
+            game.id(),
+            buildUriWithGameId(request, gameId),
+            gameAndPits.pits(),
+            game.nextPlayer(),
+            game.gameOver());
+    return ResponseEntity.ok().eTag(eTag(game)).body(gameRestResponse);
+  }
+
+  /**
+   * Games are known by the canonical form of their id only, so the other forms clients may use are
+   * converted before they reach the service, caches and subscriptions.
+   */
+  private static String canonicalGameId(final String gameId) {
+    return GameIdCodec.canonical(gameId)
+        .orElseThrow(() -> new NotFoundException(String.format("Could not find Game %s", gameId)));
+  }
+
+  private static String eTag(final Game game) {
+    return eTag(game.version());
+  }
+
+  private static String eTag(final long version) {
+    return "\"" + version + "\"";
+  }
+
+  /** Weak comparison as required for {@code If-None-Match}. */
+  private static boolean matches(final String ifNoneMatch, final String eTag) {
+    for (final String candidate : ifNoneMatch.split(",")) {
+      final String tag = candidate.trim();
+      if (tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   private static URI buildUriWithGameId(final HttpServletRequest request, final String gameId) {
@@ -108,12 +360,4 @@ public class GamesController {
     }
     return builder.build().toUri();
   }
-
-  private static Map<String, String> convertPitsToStatus(final List<Integer> pits) {
-    final Map<String, String> map = new LinkedHashMap<>();
-    for (int i = 0; i < pits.size(); i++) {
-      map.put(String.valueOf(i + 1), String.valueOf(pits.get(i)));
-    }
-    return map;
-  }
 }
@@ -0,0 +1,59 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.controller;
+
+import org.apache.tomcat.websocket.server.Constants;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/** Registers the WebSocket endpoints. */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+  /**
+   * Clients only send single byte moves, while Tomcat allocates buffers of this size for incoming
+   * messages of every session up front (8KB each by default).
+   */
+  private static final int MESSAGE_BUFFER_SIZE = 256;
+
+  private final GameWebSocketHandler gameWebSocketHandler;
+
+  public WebSocketConfig(final GameWebSocketHandler gameWebSocketHandler) {
+    this.gameWebSocketHandler = gameWebSocketHandler;
+  }
+
+  @Override
+  public void registerWebSocketHandlers(final WebSocketHandlerRegistry registry) {
+    registry.addHandler(gameWebSocketHandler, "/games/*/ws", "/games/*/spectate");
+  }
+
+  @Bean
+  public WebServerFactoryCustomizer<TomcatServletWebServerFactory> webSocketBufferSize() {
+    final String size = String.valueOf(MESSAGE_BUFFER_SIZE);
+    return factory ->
+        factory.addContextCustomizers(
+            context -> {
+              context.addParameter(Constants.BINARY_BUFFER_SIZE_SERVLET_CONTEXT_INIT_PARAM, size);
+              context.addParameter(Constants.TEXT_BUFFER_SIZE_SERVLET_CONTEXT_INIT_PARAM, size);
+            });
+  }
+}
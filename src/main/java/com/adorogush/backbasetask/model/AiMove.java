@@ -0,0 +1,39 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.model;
+
+import static java.util.Objects.requireNonNull;
+
+/** Data class that holds the state of a game after a move chosen by the server and its search. */
+public class AiMove {
+
+  private final GameAndPits gameAndPits;
+  private final SearchResult search;
+
+  public AiMove(final GameAndPits gameAndPits, final SearchResult search) {
+    this.gameAndPits = requireNonNull(gameAndPits);
+    this.search = requireNonNull(search);
+  }
+
+  /** The state after the move. */
+  public GameAndPits gameAndPits() {
+    return gameAndPits;
+  }
+
+  public SearchResult search() {
+    return search;
+  }
+}
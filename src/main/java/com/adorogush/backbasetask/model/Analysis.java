@@ -0,0 +1,66 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+/** Immutable data class with the score of every move of a player in one position. */
+public class Analysis {
+
+  private final Player player;
+  private final List<PitAnalysis> pits;
+  private final int depth;
+  private final boolean exact;
+  private final long nodes;
+
+  public Analysis(
+      final Player player,
+      final List<PitAnalysis> pits,
+      final int depth,
+      final boolean exact,
+      final long nodes) {
+    this.player = requireNonNull(player);
+    this.pits = List.copyOf(pits);
+    this.depth = depth;
+    this.exact = exact;
+    this.nodes = nodes;
+  }
+
+  public Player player() {
+    return player;
+  }
+
+  /** The moves of the player in ascending order of pits. */
+  public List<PitAnalysis> pits() {
+    return pits;
+  }
+
+  /** The depth, in moves, of the last iteration that completed within the time budget. */
+  public int depth() {
+    return depth;
+  }
+
+  /** {@code true} if every line was searched to the end of the game, so the scores are final. */
+  public boolean exact() {
+    return exact;
+  }
+
+  public long nodes() {
+    return nodes;
+  }
+}
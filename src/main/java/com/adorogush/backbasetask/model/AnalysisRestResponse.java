@@ -0,0 +1,102 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.model;
+
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Data class that represents the REST response of an analysis. Pits are 1-based. */
+@JsonPropertyOrder({"id", "uri", "player", "depth", "exact", "pits"})
+public class AnalysisRestResponse {
+
+  private final String id;
+  private final URI uri;
+  private final Analysis analysis;
+
+  public AnalysisRestResponse(final String id, final URI uri, final Analysis analysis) {
+    this.id = requireNonNull(id);
+    this.uri = requireNonNull(uri);
+    this.analysis = requireNonNull(analysis);
+  }
+
+  @JsonProperty("id")
+  public String id() {
+    return id;
+  }
+
+  @JsonProperty("uri")
+  public URI uri() {
+    return uri;
+  }
+
+  @JsonProperty("player")
+  public Player player() {
+    return analysis.player();
+  }
+
+  @JsonProperty("depth")
+  public int depth() {
+    return analysis.depth();
+  }
+
+  @JsonProperty("exact")
+  public boolean exact() {
+    return analysis.exact();
+  }
+
+  @JsonProperty("pits")
+  public List<Pit> pits() {
+    final List<Pit> pits = new ArrayList<>(analysis.pits().size());
+    for (final PitAnalysis pit : analysis.pits()) {
+      pits.add(new Pit(pit));
+    }
+    return pits;
+  }
+
+  /** The analysis of one move. */
+  public static class Pit {
+
+    private final PitAnalysis pit;
+
+    private Pit(final PitAnalysis pit) {
+      this.pit = pit;
+    }
+
+    @JsonProperty("pit")
+    public int pit() {
+      return pit.pitId() + 1;
+    }
+
+    @JsonProperty("score")
+    public int score() {
+      return pit.score();
+    }
+
+    @JsonProperty("principalVariation")
+    public int[] principalVariation() {
+      final int[] line = pit.principalVariation().clone();
+      for (int i = 0; i < line.length; i++) {
+        line[i]++;
+      }
+      return line;
+    }
+  }
+}
@@ -17,17 +17,23 @@ package com.adorogush.backbasetask.model;
 
 import static java.util.Objects.requireNonNull;
 
-/** Immutable data class that represents Game. */
+/**
+ * Immutable data class that represents Game. The {@code version} is incremented with every move and
+ * is used for optimistic concurrency control.
+ */
 public class Game {
 
   private final String id;
   private final Player nextPlayer;
   private final boolean gameOver;
+  private final long version;
 
-  public Game(final String id, final Player nextPlayer, final boolean gameOver) {
+  public Game(
+      final String id, final Player nextPlayer, final boolean gameOver, final long version) {
     this.id = requireNonNull(id);
     this.nextPlayer = nextPlayer;
     this.gameOver = gameOver;
+    this.version = version;
   }
 
   public String id() {
@@ -41,4 +47,8 @@ public class Game {
   public boolean gameOver() {
     return gameOver;
   }
+
+  public long version() {
+    return version;
+  }
 }
@@ -17,15 +17,16 @@ package com.adorogush.backbasetask.model;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.List;
-
-/** Data class that holds a pair of Game and the current state of pits. */
+/**
+ * Data class that holds a pair of Game and the current state of pits. Instances are shared through
+ * the game cache, so the pits array must not be modified once it is wrapped.
+ */
 public class GameAndPits {
 
   private final Game game;
-  private final List<Integer> pits;
+  private final int[] pits;
 
-  public GameAndPits(final Game game, final List<Integer> pits) {
+  public GameAndPits(final Game game, final int[] pits) {
     this.game = requireNonNull(game);
     this.pits = requireNonNull(pits);
   }
@@ -34,7 +35,7 @@ public class GameAndPits {
     return game;
   }
 
-  public List<Integer> pits() {
+  public int[] pits() {
     return pits;
   }
 }
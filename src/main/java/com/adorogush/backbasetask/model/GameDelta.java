@@ -0,0 +1,54 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.model;
+
+import static java.util.Objects.requireNonNull;
+
+/** Data class that holds the state of a game after a move and the pits the move changed. */
+public class GameDelta {
+
+  private final int[] previousPits;
+  private final GameAndPits gameAndPits;
+
+  public GameDelta(final int[] previousPits, final GameAndPits gameAndPits) {
+    this.previousPits = requireNonNull(previousPits);
+    this.gameAndPits = requireNonNull(gameAndPits);
+  }
+
+  /** The state after the move. */
+  public GameAndPits gameAndPits() {
+    return gameAndPits;
+  }
+
+  /** The pits whose number of stones the move changed, in ascending order. */
+  public int[] changedPitIds() {
+    final int[] pits = gameAndPits.pits();
+    int count = 0;
+    for (int pitId = 0; pitId < pits.length; pitId++) {
+      if (pits[pitId] != previousPits[pitId]) {
+        count++;
+      }
+    }
+    final int[] changed = new int[count];
+    int i = 0;
+    for (int pitId = 0; pitId < pits.length; pitId++) {
+      if (pits[pitId] != previousPits[pitId]) {
+        changed[i++] = pitId;
+      }
+    }
+    return changed;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Data class that represents the REST response to a move in delta mode: the {@code status} holds
+ * only the pits the move changed, in the format of {@link GameRestResponse}, and {@code version}
+ * the version of the game after the move.
+ */
+@JsonSerialize(using = GameDeltaRestResponseSerializer.class)
+public class GameDeltaRestResponse {
+
+  private final int[] pits;
+  private final int[] changedPitIds;
+  private final Player nextPlayer;
+  private final boolean gameOver;
+  private final long version;
+
+  public GameDeltaRestResponse(final GameDelta delta) {
+    final GameAndPits gameAndPits = delta.gameAndPits();
+    this.pits = gameAndPits.pits();
+    this.changedPitIds = delta.changedPitIds();
+    this.nextPlayer = gameAndPits.game().nextPlayer();
+    this.gameOver = gameAndPits.game().gameOver();
+    this.version = gameAndPits.game().version();
+  }
+
+  /** The stones of every pit after the move, of which only the changed ones are written. */
+  int[] pits() {
+    return pits;
+  }
+
+  int[] changedPitIds() {
+    return changedPitIds;
+  }
+
+  public Player nextPlayer() {
+    return nextPlayer;
+  }
+
+  public boolean gameOver() {
+    return gameOver;
+  }
+
+  public long version() {
+    return version;
+  }
+}
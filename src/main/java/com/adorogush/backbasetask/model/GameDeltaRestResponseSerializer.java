@@ -0,0 +1,50 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/** Writes a {@link GameDeltaRestResponse} the way {@link GameRestResponseSerializer} does. */
+class GameDeltaRestResponseSerializer extends StdSerializer<GameDeltaRestResponse> {
+
+  private static final SerializableString VERSION = new SerializedString("version");
+
+  GameDeltaRestResponseSerializer() {
+    super(GameDeltaRestResponse.class);
+  }
+
+  @Override
+  public void serialize(
+      final GameDeltaRestResponse response,
+      final JsonGenerator generator,
+      final SerializerProvider provider)
+      throws IOException {
+    generator.writeStartObject(response);
+    generator.writeFieldName(GameRestResponseSerializer.STATUS);
+    GameRestResponseSerializer.writeStatus(response.pits(), response.changedPitIds(), generator);
+    GameRestResponseSerializer.writeNextPlayer(response.nextPlayer(), generator);
+    generator.writeFieldName(GameRestResponseSerializer.GAME_OVER);
+    generator.writeBoolean(response.gameOver());
+    generator.writeFieldName(VERSION);
+    generator.writeNumber(response.version());
+    generator.writeEndObject();
+  }
+}
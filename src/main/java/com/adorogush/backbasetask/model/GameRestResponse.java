@@ -17,54 +17,83 @@ package com.adorogush.backbasetask.model;
 
 import static java.util.Objects.requireNonNull;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-/** Data class that represents the REST response model. */
+/**
+ * Data class that represents the REST response model. Written by {@link GameRestResponseSerializer}
+ * straight from the pits.
+ */
+@JsonSerialize(using = GameRestResponseSerializer.class)
 public class GameRestResponse {
 
   private final String id;
   private final URI uri;
-  private final Map<String, String> status;
+  private final int[] pits;
   private final Player nextPlayer;
   private final boolean gameOver;
 
+  public GameRestResponse(
+      final String id,
+      final URI uri,
+      final int[] pits,
+      final Player nextPlayer,
+      final boolean gameOver) {
+    this.id = requireNonNull(id);
+    this.uri = requireNonNull(uri);
+    this.pits = requireNonNull(pits);
+    this.nextPlayer = nextPlayer;
+    this.gameOver = gameOver;
+  }
+
+  @JsonCreator
   public GameRestResponse(
       @JsonProperty("id") final String id,
       @JsonProperty("uri") final URI uri,
       @JsonProperty("status") final Map<String, String> status,
       @JsonProperty("nextPlayer") final Player nextPlayer,
       @JsonProperty("gameOver") final boolean gameOver) {
-    this.id = requireNonNull(id);
-    this.uri = requireNonNull(uri);
-    this.status = requireNonNull(status);
-    this.nextPlayer = nextPlayer;
-    this.gameOver = gameOver;
+    this(id, uri, pitsOf(requireNonNull(status)), nextPlayer, gameOver);
   }
 
-  @JsonProperty("id")
   public String id() {
     return id;
   }
 
-  @JsonProperty("uri")
   public URI uri() {
     return uri;
   }
 
-  @JsonProperty("status")
+  /** The number of stones by pit id, starting at {@code "1"}. */
   public Map<String, String> status() {
-    return status;
+    final Map<String, String> map = new LinkedHashMap<>();
+    for (int i = 0; i < pits.length; i++) {
+      map.put(String.valueOf(i + 1), String.valueOf(pits[i]));
+    }
+    return map;
+  }
+
+  int[] pits() {
+    return pits;
   }
 
-  @JsonProperty("nextPlayer")
   public Player nextPlayer() {
     return nextPlayer;
   }
 
-  @JsonProperty("gameOver")
   public boolean gameOver() {
     return gameOver;
   }
+
+  private static int[] pitsOf(final Map<String, String> status) {
+    final int[] pits = new int[status.size()];
+    for (int i = 0; i < pits.length; i++) {
+      pits[i] = Integer.parseInt(status.get(String.valueOf(i + 1)));
+    }
+    return pits;
+  }
 }
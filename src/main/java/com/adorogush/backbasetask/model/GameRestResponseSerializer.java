@@ -0,0 +1,124 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Writes a {@link GameRestResponse} without reflection and without building the {@code status} map:
+ * field names and pit ids are encoded once, and the stones of every pit are formatted into a small
+ * char buffer instead of a string. The output is the same as Jackson's default for the class.
+ */
+class GameRestResponseSerializer extends StdSerializer<GameRestResponse> {
+
+  private static final SerializableString ID = new SerializedString("id");
+  private static final SerializableString URI = new SerializedString("uri");
+  static final SerializableString STATUS = new SerializedString("status");
+  private static final SerializableString NEXT_PLAYER = new SerializedString("nextPlayer");
+  static final SerializableString GAME_OVER = new SerializedString("gameOver");
+
+  /** Pit ids of boards with up to 31 pits per player. */
+  private static final SerializableString[] PIT_IDS = new SerializableString[64];
+
+  static {
+    for (int i = 0; i < PIT_IDS.length; i++) {
+      PIT_IDS[i] = new SerializedString(String.valueOf(i + 1));
+    }
+  }
+
+  GameRestResponseSerializer() {
+    super(GameRestResponse.class);
+  }
+
+  @Override
+  public void serialize(
+      final GameRestResponse response,
+      final JsonGenerator generator,
+      final SerializerProvider provider)
+      throws IOException {
+    generator.writeStartObject(response);
+    generator.writeFieldName(ID);
+    generator.writeString(response.id());
+    generator.writeFieldName(URI);
+    generator.writeString(response.uri().toString());
+    generator.writeFieldName(STATUS);
+    writeStatus(response.pits(), generator);
+    writeNextPlayer(response.nextPlayer(), generator);
+    generator.writeFieldName(GAME_OVER);
+    generator.writeBoolean(response.gameOver());
+    generator.writeEndObject();
+  }
+
+  /** Writes the stones of every pit as the {@code status} object. */
+  static void writeStatus(final int[] pits, final JsonGenerator generator) throws IOException {
+    final char[] digits = new char[10];
+    generator.writeStartObject();
+    for (int pitId = 0; pitId < pits.length; pitId++) {
+      writePit(pitId, pits[pitId], digits, generator);
+    }
+    generator.writeEndObject();
+  }
+
+  /** Writes the stones of the given pits only as the {@code status} object. */
+  static void writeStatus(final int[] pits, final int[] pitIds, final JsonGenerator generator)
+      throws IOException {
+    final char[] digits = new char[10];
+    generator.writeStartObject();
+    for (final int pitId : pitIds) {
+      writePit(pitId, pits[pitId], digits, generator);
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writePit(
+      final int pitId, final int stones, final char[] digits, final JsonGenerator generator)
+      throws IOException {
+    if (pitId < PIT_IDS.length) {
+      generator.writeFieldName(PIT_IDS[pitId]);
+    } else {
+      generator.writeFieldName(String.valueOf(pitId + 1));
+    }
+    final int start = format(stones, digits);
+    generator.writeString(digits, start, digits.length - start);
+  }
+
+  /** Writes the next player, {@code null} before the first move. */
+  static void writeNextPlayer(final Player nextPlayer, final JsonGenerator generator)
+      throws IOException {
+    generator.writeFieldName(NEXT_PLAYER);
+    if (nextPlayer == null) {
+      generator.writeNull();
+    } else {
+      generator.writeNumber(nextPlayer.index());
+    }
+  }
+
+  /** Writes the non-negative {@code value} right-aligned into {@code digits}, returns its start. */
+  private static int format(final int value, final char[] digits) {
+    int remaining = value;
+    int start = digits.length;
+    do {
+      digits[--start] = (char) ('0' + remaining % 10);
+      remaining /= 10;
+    } while (remaining > 0);
+    return start;
+  }
+}
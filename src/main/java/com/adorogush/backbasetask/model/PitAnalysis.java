@@ -0,0 +1,47 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.model;
+
+import static java.util.Objects.requireNonNull;
+
+/** Immutable data class with the score of one move and the line of play expected to follow it. */
+public class PitAnalysis {
+
+  private final int pitId;
+  private final int score;
+  private final int[] principalVariation;
+
+  public PitAnalysis(final int pitId, final int score, final int[] principalVariation) {
+    this.pitId = pitId;
+    this.score = score;
+    this.principalVariation = requireNonNull(principalVariation);
+  }
+
+  /** The pit of the move, 0-based. */
+  public int pitId() {
+    return pitId;
+  }
+
+  /** The score for the moving player, see {@link SearchResult#score()}. */
+  public int score() {
+    return score;
+  }
+
+  /** The pits sown by both players, 0-based, starting with {@link #pitId()}. Do not modify. */
+  public int[] principalVariation() {
+    return principalVariation;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.model;
+
+/**
+ * Immutable data class with the outcome of a search for the best move: the chosen pit, its score
+ * for the moving player, the deepest fully searched depth and the effort it took.
+ */
+public class SearchResult {
+
+  private final int pitId;
+  private final int score;
+  private final int depth;
+  private final boolean exact;
+  private final long nodes;
+  private final long elapsedNanos;
+
+  public SearchResult(
+      final int pitId,
+      final int score,
+      final int depth,
+      final boolean exact,
+      final long nodes,
+      final long elapsedNanos) {
+    this.pitId = pitId;
+    this.score = score;
+    this.depth = depth;
+    this.exact = exact;
+    this.nodes = nodes;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /** The chosen pit, 0-based. */
+  public int pitId() {
+    return pitId;
+  }
+
+  public int score() {
+    return score;
+  }
+
+  /** The depth, in moves, of the last iteration that completed within the time budget. */
+  public int depth() {
+    return depth;
+  }
+
+  /** {@code true} if every line was searched to the end of the game, so the score is final. */
+  public boolean exact() {
+    return exact;
+  }
+
+  /** Positions visited, including those of an iteration cut short by the time budget. */
+  public long nodes() {
+    return nodes;
+  }
+
+  public long elapsedNanos() {
+    return elapsedNanos;
+  }
+
+  public long nodesPerSecond() {
+    return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+  }
+}
@@ -0,0 +1,304 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheWriter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded in-process cache of active games in front of the {@link GameStore}. Games are evicted by
+ * size (close to LRU) and after {@code gameCache.expireAfterAccess} without access. Hits, misses,
+ * evictions and the number of not yet flushed games are published as metrics.
+ *
+ * <p>Writes go through one of two modes:
+ *
+ * <ul>
+ *   <li>{@code write-through} (default): the compare-and-set goes to the database through {@link
+ *       GroupCommitGameWriter} and the cache is updated only once the transaction has committed. An
+ *       acknowledged move is as durable as the database and the cache never exposes uncommitted
+ *       state.
+ *   <li>{@code write-behind}: the compare-and-set is done in memory and modified games are flushed
+ *       to the database every {@code gameCache.flushInterval}, when they are evicted and on
+ *       shutdown. A crash loses at most the moves acknowledged since the last flush; every game is
+ *       then restored to an older, but consistent, state. This mode is only safe when a single
+ *       application instance serves the database.
+ * </ul>
+ */
+@Component
+public class CachingGameAndPitRepository {
+
+  private static final Logger log = LogManager.getLogger();
+
+  /** How modifications reach the database. */
+  public enum WriteMode {
+    WRITE_THROUGH,
+    WRITE_BEHIND
+  }
+
+  private final GameStore delegate;
+  private final GroupCommitGameWriter writer;
+  private final WriteMode writeMode;
+  private final Cache<String, GameAndPits> cache;
+  private final ConcurrentMap<String, GameAndPits> dirty = new ConcurrentHashMap<>();
+  private final Counter flushed;
+  private final ScheduledExecutorService flusher;
+
+  public CachingGameAndPitRepository(
+      final GameStore delegate,
+      final GroupCommitGameWriter writer,
+      @Value("${gameCache.maximumSize}") final long maximumSize,
+      @Value("${gameCache.expireAfterAccess}") final Duration expireAfterAccess,
+      @Value("${gameCache.writeMode}") final WriteMode writeMode,
+      @Value("${gameCache.flushInterval}") final Duration flushInterval,
+      final MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.writer = writer;
+    this.writeMode = writeMode;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .writer(new FlushOnEviction())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "games");
+    meterRegistry.gaugeMapSize("games.cache.dirty", Tags.empty(), dirty);
+    this.flushed = meterRegistry.counter("games.cache.flushed");
+    if (writeMode == WriteMode.WRITE_BEHIND) {
+      flusher =
+          Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "game-cache-flusher"));
+      flusher.scheduleWithFixedDelay(
+          this::flushSafely,
+          flushInterval.toMillis(),
+          flushInterval.toMillis(),
+          TimeUnit.MILLISECONDS);
+    } else {
+      flusher = null;
+    }
+  }
+
+  public GameAndPits createGame(final int numberOfPits, final int numberOfStones) {
+    final GameAndPits created = delegate.createGame(numberOfPits, numberOfStones);
+    afterCommit(() -> cacheIfNewer(created));
+    return created;
+  }
+
+  /** Bulk created games are not cached, so they do not evict games that are being played. */
+  public List<GameAndPits> createGames(
+      final int count, final int numberOfPits, final int numberOfStones) {
+    return delegate.createGames(count, numberOfPits, numberOfStones);
+  }
+
+  public Optional<GameAndPits> readGame(final String gameId) {
+    final GameAndPits cached = cache.getIfPresent(gameId);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    final Optional<GameAndPits> found = delegate.readGame(gameId);
+    found.ifPresent(this::cacheIfNewer);
+    return found;
+  }
+
+  /** Answered from the cache if the game is cached, otherwise without loading it into the cache. */
+  public OptionalLong readVersion(final String gameId) {
+    final GameAndPits cached = cache.getIfPresent(gameId);
+    if (cached != null) {
+      return OptionalLong.of(cached.game().version());
+    }
+    return delegate.readVersion(gameId);
+  }
+
+  /**
+   * Whether {@link #updateGame(GameAndPits, long, int)} waits for a group commit when it is called
+   * outside of a transaction, see {@link GroupCommitGameWriter}.
+   */
+  public boolean commitsInGroups() {
+    return writeMode == WriteMode.WRITE_THROUGH && writer.isEnabled();
+  }
+
+  /**
+   * Compare-and-set update of the game.
+   *
+   * @param pitId the pit of the move that produced {@code gameAndPits}
+   * @return {@code false} if the game is not of {@code expectedVersion} any more
+   */
+  public boolean updateGame(
+      final GameAndPits gameAndPits, final long expectedVersion, final int pitId) {
+    if (writeMode == WriteMode.WRITE_BEHIND) {
+      return updateInMemory(gameAndPits, expectedVersion);
+    }
+    final String gameId = gameAndPits.game().id();
+    if (!writer.updateGame(gameAndPits, expectedVersion, pitId)) {
+      cache.invalidate(gameId);
+      return false;
+    }
+    afterCommit(() -> cacheIfNewer(gameAndPits));
+    return true;
+  }
+
+  /**
+   * Compare-and-set update of the game after several moves. In {@code write-through} mode it is
+   * executed in the caller's transaction rather than queued for a group commit: the moves are
+   * already written together.
+   *
+   * @param pitIds the pits of the moves that produced {@code gameAndPits}, in order
+   * @return {@code false} if the game is not of {@code expectedVersion} any more
+   */
+  public boolean updateGame(
+      final GameAndPits gameAndPits, final long expectedVersion, final int[] pitIds) {
+    if (writeMode == WriteMode.WRITE_BEHIND) {
+      return updateInMemory(gameAndPits, expectedVersion);
+    }
+    final String gameId = gameAndPits.game().id();
+    if (!delegate.updateGame(gameAndPits, expectedVersion, pitIds)) {
+      cache.invalidate(gameId);
+      return false;
+    }
+    afterCommit(() -> cacheIfNewer(gameAndPits));
+    return true;
+  }
+
+  private boolean updateInMemory(final GameAndPits gameAndPits, final long expectedVersion) {
+    final String gameId = gameAndPits.game().id();
+    if (!cache.asMap().containsKey(gameId)) {
+      // evicted since it was read; eviction has flushed it, so the database is up to date
+      final Optional<GameAndPits> found = delegate.readGame(gameId);
+      if (found.isEmpty()) {
+        return false;
+      }
+      cacheIfNewer(found.get());
+    }
+    final boolean[] updated = new boolean[1];
+    cache
+        .asMap()
+        .computeIfPresent(
+            gameId,
+            (id, current) -> {
+              if (current.game().version() != expectedVersion) {
+                return current;
+              }
+              updated[0] = true;
+              dirty.put(id, gameAndPits);
+              return gameAndPits;
+            });
+    return updated[0];
+  }
+
+  public boolean deleteGame(final String gameId) {
+    dirty.remove(gameId);
+    cache.invalidate(gameId);
+    final boolean deleted = delegate.deleteGame(gameId);
+    afterCommit(() -> cache.invalidate(gameId));
+    return deleted;
+  }
+
+  /** Writes all modified games to the database. Does nothing in {@code write-through} mode. */
+  public void flush() {
+    for (final Map.Entry<String, GameAndPits> entry : dirty.entrySet()) {
+      flush(entry.getKey(), entry.getValue());
+    }
+  }
+
+  private void flush(final String gameId, final GameAndPits gameAndPits) {
+    delegate.writeGame(gameAndPits);
+    dirty.remove(gameId, gameAndPits);
+    flushed.increment();
+  }
+
+  private void flushSafely() {
+    try {
+      flush();
+    } catch (final RuntimeException e) {
+      log.error("Could not flush games, will retry", e);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (flusher != null) {
+      flusher.shutdown();
+      flush();
+    }
+  }
+
+  /** Versions only grow, so a slow reader can not replace a newer cached state with an old one. */
+  private void cacheIfNewer(final GameAndPits gameAndPits) {
+    cache
+        .asMap()
+        .merge(
+            gameAndPits.game().id(),
+            gameAndPits,
+            (cached, candidate) ->
+                candidate.game().version() > cached.game().version() ? candidate : cached);
+  }
+
+  private static void afterCommit(final Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronizationAdapter() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  /** Evicted games must not lose moves that have not been flushed yet. */
+  private final class FlushOnEviction implements CacheWriter<String, GameAndPits> {
+
+    @Override
+    public void write(final String gameId, final GameAndPits gameAndPits) {}
+
+    @Override
+    public void delete(
+        final String gameId, final GameAndPits gameAndPits, final RemovalCause cause) {
+      if (!cause.wasEvicted()) {
+        return;
+      }
+      final GameAndPits pending = dirty.get(gameId);
+      if (pending != null) {
+        flush(gameId, pending);
+      }
+    }
+  }
+}
@@ -16,7 +16,9 @@
 package com.adorogush.backbasetask.repository;
 
 import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
 import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.service.GameIdCodec;
 import com.adorogush.backbasetask.service.IdProvider;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -25,111 +27,188 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.StringJoiner;
+import java.util.OptionalLong;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Repository;
 
-/** H2 in-memory db SQL based repository implementation. */
+/**
+ * H2 in-memory db SQL based repository implementation. The whole board is packed into the {@code
+ * pits} column of the {@code game} row (see {@link PitsCodec}), so every operation touches exactly
+ * one row. Game ids are stored as {@link UUID}s and converted with {@link GameIdCodec}; ids that
+ * are not in the canonical form are not found. Replaced by {@link MoveLogGameAndPitRepository} when
+ * {@code moveLog.enabled} is set and by {@link MappedFileGameStore} with the {@code mapped-file}
+ * profile.
+ */
 @Repository
-public class GameAndPitRepository {
+@Profile("!mapped-file")
+@ConditionalOnProperty(name = "moveLog.enabled", havingValue = "false", matchIfMissing = true)
+public class GameAndPitRepository implements GameStore {
+
+  private static final String UPDATE_GAME_SQL =
+      "update game set nextPlayer = ?, gameOver = ?, pits = ?, version = ?"
+          + " where id = ? and version = ?";
+  private static final int CREATE_BATCH_SIZE = 1000;
 
   private final IdProvider idProvider;
   private final JdbcTemplate jdbcTemplate;
   private final SimpleJdbcInsert gameTableInsert;
-  private final SimpleJdbcInsert pitTableInsert;
 
   public GameAndPitRepository(final IdProvider idProvider, final JdbcTemplate jdbcTemplate) {
     this.idProvider = idProvider;
     this.jdbcTemplate = jdbcTemplate;
     this.gameTableInsert = new SimpleJdbcInsert(jdbcTemplate).withTableName("game");
-    this.pitTableInsert = new SimpleJdbcInsert(jdbcTemplate).withTableName("pit");
   }
 
-  public Game createEmptyGame() {
-    final Game game = new Game(idProvider.get(), null, false);
-    gameTableInsert.execute(gameToJdbcMap(game));
-    return game;
+  @Override
+  public GameAndPits createGame(final int numberOfPits, final int numberOfStones) {
+    final Game game = new Game(idProvider.get(), null, false, 0);
+    final int[] pits = initialPits(numberOfPits, numberOfStones);
+    gameTableInsert.execute(gameToJdbcMap(game, pits));
+    return new GameAndPits(game, pits);
+  }
+
+  /** Inserted in JDBC batches of {@value #CREATE_BATCH_SIZE} games. */
+  @Override
+  public List<GameAndPits> createGames(
+      final int count, final int numberOfPits, final int numberOfStones) {
+    final int[] pits = initialPits(numberOfPits, numberOfStones);
+    final byte[] encodedPits = PitsCodec.encode(pits);
+    final List<GameAndPits> created = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      created.add(new GameAndPits(new Game(idProvider.get(), null, false, 0), pits.clone()));
+    }
+    jdbcTemplate.batchUpdate(
+        "insert into game (id, nextPlayer, gameOver, pits, version) values (?, null, false, ?, 0)",
+        created,
+        CREATE_BATCH_SIZE,
+        (ps, gameAndPits) -> {
+          ps.setObject(1, uuid(gameAndPits.game().id()));
+          ps.setBytes(2, encodedPits);
+        });
+    return created;
   }
 
-  public List<Integer> createInitialPits(
-      final String gameId, final int numberOfPits, final int numberOfStones) {
-    final int capacity = numberOfPits * 2 + 2;
-    final ArrayList<Integer> pits = new ArrayList<>(capacity);
-    for (int i = 0; i < capacity; i++) {
+  static int[] initialPits(final int numberOfPits, final int numberOfStones) {
+    final int[] pits = new int[numberOfPits * 2 + 2];
+    for (int i = 0; i < pits.length; i++) {
       final boolean isKalah = (i + 1) % (numberOfPits + 1) == 0;
-      pits.add(isKalah ? 0 : numberOfStones);
+      pits[i] = isKalah ? 0 : numberOfStones;
     }
-    insertInitialPits(gameId, pits);
     return pits;
   }
 
-  private void insertInitialPits(final String gameId, final List<Integer> pits) {
-    @SuppressWarnings("unchecked")
-    final Map<String, ?>[] batch = new Map[pits.size()];
-    for (int i = 0; i < batch.length; i++) {
-      batch[i] = pitToJdbcMap(gameId, i, pits.get(i));
+  @Override
+  public Optional<GameAndPits> readGame(final String gameId) {
+    final Optional<UUID> uuid = GameIdCodec.parse(gameId);
+    if (uuid.isEmpty()) {
+      return Optional.empty();
     }
-    pitTableInsert.executeBatch(batch);
+    // id is the primary key, the first row is the only one
+    return Optional.ofNullable(
+        jdbcTemplate.query(
+            "select nextPlayer, gameOver, pits, version from game where id = ?",
+            rs -> rs.next() ? gameAndPitsRowMapper(gameId, rs) : null,
+            uuid.get()));
   }
 
-  public Optional<Game> readGame(final String gameId) {
-    final List<Game> found =
-        jdbcTemplate.query(
-            "select * from game where id = ?", GameAndPitRepository::gameRowMapper, gameId);
-    return Optional.of(found).filter(l -> !l.isEmpty()).map(l -> l.get(0));
+  @Override
+  public OptionalLong readVersion(final String gameId) {
+    return readVersion(gameId, "select version from game where id = ?");
   }
 
-  public void updateGame(final String gameId, final Player nextPlayer, final boolean gameOver) {
-    jdbcTemplate.update(
-        "update game set nextPlayer = ?, gameOver = ? where id = ?",
-        nextPlayer.index(),
-        gameOver,
-        gameId);
+  OptionalLong readVersion(final String gameId, final String sql) {
+    final Optional<UUID> uuid = GameIdCodec.parse(gameId);
+    if (uuid.isEmpty()) {
+      return OptionalLong.empty();
+    }
+    return jdbcTemplate.query(
+        sql, rs -> rs.next() ? OptionalLong.of(rs.getLong(1)) : OptionalLong.empty(), uuid.get());
   }
 
-  public boolean deleteGame(final String gameId) {
-    final int updated = jdbcTemplate.update("delete from game where id = ?", gameId);
+  @Override
+  public boolean updateGame(
+      final GameAndPits gameAndPits, final long expectedVersion, final int pitId) {
+    final int updated =
+        jdbcTemplate.update(UPDATE_GAME_SQL, updateGameArgs(gameAndPits, expectedVersion));
     return updated > 0;
   }
 
-  public List<Integer> readPits(final String gameId) {
-    return jdbcTemplate.query(
-        "select size from pit where gameId = ? order by pitId",
-        (rs, rowNum) -> rs.getInt(1),
-        gameId);
+  /** Executed as one JDBC batch. */
+  @Override
+  public boolean[] updateGames(
+      final List<GameAndPits> games, final long[] expectedVersions, final int[] pitIds) {
+    final List<Object[]> batch = new ArrayList<>(games.size());
+    for (int i = 0; i < games.size(); i++) {
+      batch.add(updateGameArgs(games.get(i), expectedVersions[i]));
+    }
+    final int[] updated = jdbcTemplate.batchUpdate(UPDATE_GAME_SQL, batch);
+    final boolean[] result = new boolean[updated.length];
+    for (int i = 0; i < updated.length; i++) {
+      result[i] = updated[i] > 0;
+    }
+    return result;
   }
 
-  public void updatePits(final String gameId, final List<Integer> pits) {
-    final List<Object> values = new ArrayList<>();
-    final StringJoiner updateSql =
-        new StringJoiner("", "update pit set size = (case ", "end) where gameId = ?");
-    for (int i = 0; i < pits.size(); i++) {
-      updateSql.add("when pitId = ? then ? ");
-      values.add(i);
-      values.add(pits.get(i));
-    }
-    values.add(gameId);
-    jdbcTemplate.update(updateSql.toString(), values.toArray());
+  private static Object[] updateGameArgs(
+      final GameAndPits gameAndPits, final long expectedVersion) {
+    final Game game = gameAndPits.game();
+    return new Object[] {
+      game.nextPlayer().index(),
+      game.gameOver(),
+      PitsCodec.encode(gameAndPits.pits()),
+      game.version(),
+      uuid(game.id()),
+      expectedVersion
+    };
+  }
+
+  @Override
+  public void writeGame(final GameAndPits gameAndPits) {
+    final Game game = gameAndPits.game();
+    jdbcTemplate.update(
+        "update game set nextPlayer = ?, gameOver = ?, pits = ?, version = ?"
+            + " where id = ? and version < ?",
+        game.nextPlayer().index(),
+        game.gameOver(),
+        PitsCodec.encode(gameAndPits.pits()),
+        game.version(),
+        uuid(game.id()),
+        game.version());
+  }
+
+  @Override
+  public boolean deleteGame(final String gameId) {
+    return GameIdCodec.parse(gameId)
+        .map(uuid -> jdbcTemplate.update("delete from game where id = ?", uuid) > 0)
+        .orElse(false);
+  }
+
+  /** The database form of an id that was issued by this repository. */
+  static UUID uuid(final String gameId) {
+    return GameIdCodec.parse(gameId)
+        .orElseThrow(() -> new IllegalArgumentException("Not a game id: " + gameId));
   }
 
-  private static Game gameRowMapper(final ResultSet rs, final int rowNum) throws SQLException {
-    final String id = rs.getString(1);
-    final Integer nextPlayer = rs.getObject(2, Integer.class);
-    final boolean gameOver = rs.getBoolean(3);
-    return new Game(id, Player.ofIndex(nextPlayer), gameOver);
+  private static GameAndPits gameAndPitsRowMapper(final String gameId, final ResultSet rs)
+      throws SQLException {
+    final Integer nextPlayer = rs.getObject(1, Integer.class);
+    final boolean gameOver = rs.getBoolean(2);
+    final int[] pits = PitsCodec.decode(rs.getBytes(3));
+    final long version = rs.getLong(4);
+    return new GameAndPits(new Game(gameId, Player.ofIndex(nextPlayer), gameOver, version), pits);
   }
 
-  private static Map<String, Object> gameToJdbcMap(final Game game) {
+  private static Map<String, Object> gameToJdbcMap(final Game game, final int[] pits) {
     final Map<String, Object> map = new HashMap<>();
-    map.put("id", game.id());
+    map.put("id", uuid(game.id()));
     map.put("nextPlayer", game.nextPlayer());
     map.put("gameOver", game.gameOver());
+    map.put("pits", PitsCodec.encode(pits));
+    map.put("version", game.version());
     return map;
   }
-
-  private static Map<String, Object> pitToJdbcMap(
-      final String gameId, final int pitId, final int size) {
-    return Map.of("gameId", gameId, "pitId", pitId, "size", size);
-  }
 }
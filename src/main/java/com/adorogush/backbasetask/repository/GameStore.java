@@ -0,0 +1,85 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import com.adorogush.backbasetask.model.GameAndPits;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Persistent storage of games. Implemented by {@link GameAndPitRepository} (the default), {@link
+ * MoveLogGameAndPitRepository} and {@link MappedFileGameStore}.
+ */
+public interface GameStore {
+
+  GameAndPits createGame(int numberOfPits, int numberOfStones);
+
+  /** Creates {@code count} new games, by default one by one. */
+  default List<GameAndPits> createGames(
+      final int count, final int numberOfPits, final int numberOfStones) {
+    final List<GameAndPits> created = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      created.add(createGame(numberOfPits, numberOfStones));
+    }
+    return created;
+  }
+
+  Optional<GameAndPits> readGame(String gameId);
+
+  /** The current version of the game, without reading the board. */
+  default OptionalLong readVersion(final String gameId) {
+    return readGame(gameId)
+        .map(gameAndPits -> OptionalLong.of(gameAndPits.game().version()))
+        .orElse(OptionalLong.empty());
+  }
+
+  /**
+   * Compare-and-set update of the game.
+   *
+   * @param pitId the pit of the move that produced {@code gameAndPits}
+   * @return {@code false} if the stored version is not {@code expectedVersion} any more, i.e. the
+   *     game was concurrently modified or deleted
+   */
+  boolean updateGame(GameAndPits gameAndPits, long expectedVersion, int pitId);
+
+  /**
+   * Compare-and-set update of the game after several moves; {@code gameAndPits} is of version
+   * {@code expectedVersion + pitIds.length}.
+   *
+   * @param pitIds the pits of the moves that produced {@code gameAndPits}, in order
+   */
+  default boolean updateGame(
+      final GameAndPits gameAndPits, final long expectedVersion, final int[] pitIds) {
+    return updateGame(gameAndPits, expectedVersion, pitIds[pitIds.length - 1]);
+  }
+
+  /**
+   * Compare-and-set update of several games.
+   *
+   * @return for each game whether it was updated, see {@link #updateGame(GameAndPits, long, int)}
+   */
+  boolean[] updateGames(List<GameAndPits> games, long[] expectedVersions, int[] pitIds);
+
+  /**
+   * Unconditional update of the game, unless the stored version is already the same or newer. Used
+   * to flush state that was validated elsewhere.
+   */
+  void writeGame(GameAndPits gameAndPits);
+
+  boolean deleteGame(String gameId);
+}
@@ -0,0 +1,202 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import com.adorogush.backbasetask.model.GameAndPits;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write path for moves. By default every update is executed by the calling thread. With {@code
+ * groupCommit.enabled} updates of many concurrent games are queued and a single writer thread
+ * commits them as one JDBC batch in one transaction, as soon as {@code groupCommit.maxBatchSize}
+ * updates are queued or {@code groupCommit.maxDelay} after the first one was queued. The caller
+ * waits until the batch containing its update has been committed, for at most 10 seconds on top of
+ * the delay. Updates made during shutdown are executed by the calling thread again.
+ *
+ * <p>The writer takes a connection of its own for every batch, so callers must not hold one while
+ * they wait: an update made inside a transaction is executed by that transaction instead.
+ */
+@Component
+public class GroupCommitGameWriter {
+
+  private static final Logger log = LogManager.getLogger();
+  private static final Duration COMMIT_TIMEOUT = Duration.ofSeconds(10);
+
+  private final GameStore repository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final long maxDelayNanos;
+  private final long timeoutNanos;
+  private final int maxBatchSize;
+  private final BlockingQueue<PendingUpdate> queue = new LinkedBlockingQueue<>();
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  public GroupCommitGameWriter(
+      final GameStore repository,
+      final TransactionTemplate transactionTemplate,
+      @Value("${groupCommit.enabled}") final boolean enabled,
+      @Value("${groupCommit.maxDelay}") final Duration maxDelay,
+      @Value("${groupCommit.maxBatchSize}") final int maxBatchSize) {
+    this.repository = repository;
+    this.transactionTemplate = transactionTemplate;
+    this.enabled = enabled;
+    this.maxDelayNanos = maxDelay.toNanos();
+    this.timeoutNanos = maxDelayNanos + COMMIT_TIMEOUT.toNanos();
+    this.maxBatchSize = maxBatchSize;
+    if (enabled) {
+      writer = new Thread(this::writeBatches, "game-group-commit");
+      writer.setDaemon(true);
+      writer.start();
+    } else {
+      writer = null;
+    }
+  }
+
+  /**
+   * Compare-and-set update of the game, see {@link GameStore#updateGame(GameAndPits, long, int)}.
+   * Returns once the update is committed.
+   */
+  public boolean updateGame(
+      final GameAndPits gameAndPits, final long expectedVersion, final int pitId) {
+    if (!enabled || !running || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return repository.updateGame(gameAndPits, expectedVersion, pitId);
+    }
+    final PendingUpdate update = new PendingUpdate(gameAndPits, expectedVersion, pitId);
+    queue.add(update);
+    if (!running && queue.remove(update)) {
+      // the writer may have stopped before the update was queued
+      return repository.updateGame(gameAndPits, expectedVersion, pitId);
+    }
+    try {
+      return update.committed.get(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a group commit", e);
+    } catch (final TimeoutException e) {
+      throw new QueryTimeoutException("A group commit did not complete in time", e);
+    }
+  }
+
+  /** Whether updates made outside of a transaction are committed in groups. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  private void writeBatches() {
+    final List<PendingUpdate> batch = new ArrayList<>(maxBatchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        final PendingUpdate first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        final long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxBatchSize) {
+          final long remaining = deadline - System.nanoTime();
+          final PendingUpdate next =
+              remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        running = false;
+        commit(batch);
+        break;
+      }
+      commit(batch);
+      batch.clear();
+    }
+    // left by an interrupt, or queued by callers that have not seen the shutdown yet
+    for (PendingUpdate update = queue.poll(); update != null; update = queue.poll()) {
+      update.committed.completeExceptionally(
+          new IllegalStateException("The group commit writer is shut down"));
+    }
+  }
+
+  private void commit(final List<PendingUpdate> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    final List<GameAndPits> games = new ArrayList<>(batch.size());
+    final long[] expectedVersions = new long[batch.size()];
+    final int[] pitIds = new int[batch.size()];
+    for (int i = 0; i < batch.size(); i++) {
+      games.add(batch.get(i).gameAndPits);
+      expectedVersions[i] = batch.get(i).expectedVersion;
+      pitIds[i] = batch.get(i).pitId;
+    }
+    try {
+      final boolean[] updated =
+          transactionTemplate.execute(
+              status -> repository.updateGames(games, expectedVersions, pitIds));
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).committed.complete(updated[i]);
+      }
+      log.debug("Committed {} moves in one batch", batch.size());
+    } catch (final RuntimeException e) {
+      log.error("Could not commit a batch of {} moves", batch.size(), e);
+      batch.forEach(update -> update.committed.completeExceptionally(e));
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    running = false;
+    if (writer != null) {
+      writer.join();
+    }
+  }
+
+  private static final class PendingUpdate {
+    private final GameAndPits gameAndPits;
+    private final long expectedVersion;
+    private final int pitId;
+    private final CompletableFuture<Boolean> committed = new CompletableFuture<>();
+
+    private PendingUpdate(
+        final GameAndPits gameAndPits, final long expectedVersion, final int pitId) {
+      this.gameAndPits = gameAndPits;
+      this.expectedVersion = expectedVersion;
+      this.pitId = pitId;
+    }
+  }
+}
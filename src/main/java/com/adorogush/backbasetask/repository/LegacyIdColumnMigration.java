@@ -0,0 +1,65 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import javax.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Upgrades databases that still store game ids as {@code varchar(36)}. On startup the id columns
+ * are converted to {@code uuid}, which keeps every id issued so far. Does nothing when they already
+ * are {@code uuid}, as converting a column rewrites the whole table. Runs after {@link
+ * LegacyPitTableMigration}, so that the {@code pit} table of the original schema, whose {@code
+ * varchar(36)} ids reference the games, is gone before the ids are converted.
+ */
+@Component
+@DependsOn("legacyPitTableMigration")
+public class LegacyIdColumnMigration {
+
+  private static final Logger log = LogManager.getLogger();
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public LegacyIdColumnMigration(final JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @PostConstruct
+  public void migrate() {
+    migrate("GAME", "ID");
+    migrate("MOVE", "GAMEID");
+  }
+
+  private void migrate(final String table, final String column) {
+    final Integer legacyColumns =
+        jdbcTemplate.queryForObject(
+            "select count(*) from information_schema.columns where upper(table_name) = ?"
+                + " and upper(column_name) = ? and type_name <> 'UUID'",
+            Integer.class,
+            table,
+            column);
+    if (legacyColumns == null || legacyColumns == 0) {
+      return;
+    }
+    jdbcTemplate.execute(
+        "alter table " + table + " alter column " + column + " set data type uuid");
+    log.info("Converted {}.{} to uuid", table, column);
+  }
+}
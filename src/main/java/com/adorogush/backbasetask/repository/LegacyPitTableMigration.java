@@ -0,0 +1,79 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Upgrades databases that still keep one {@code pit} row per pit. On startup the rows of every game
+ * are packed into the {@code game.pits} column and the {@code pit} table is dropped. Does nothing
+ * when the table does not exist.
+ */
+@Component
+public class LegacyPitTableMigration {
+
+  private static final Logger log = LogManager.getLogger();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public LegacyPitTableMigration(
+      final JdbcTemplate jdbcTemplate, final TransactionTemplate transactionTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  @PostConstruct
+  public void migrate() {
+    final Integer pitTables =
+        jdbcTemplate.queryForObject(
+            "select count(*) from information_schema.tables where upper(table_name) = 'PIT'",
+            Integer.class);
+    if (pitTables == null || pitTables == 0) {
+      return;
+    }
+    final int migrated = transactionTemplate.execute(status -> packPitRows());
+    log.info("Migrated {} games from the legacy pit table", migrated);
+  }
+
+  private int packPitRows() {
+    final Map<String, List<Integer>> pitsByGame = new LinkedHashMap<>();
+    jdbcTemplate.query(
+        "select gameId, size from pit order by gameId, pitId",
+        rs -> {
+          pitsByGame.computeIfAbsent(rs.getString(1), k -> new ArrayList<>()).add(rs.getInt(2));
+        });
+    final List<Object[]> batch = new ArrayList<>(pitsByGame.size());
+    pitsByGame.forEach(
+        (gameId, pits) ->
+            batch.add(
+                new Object[] {
+                  PitsCodec.encode(pits.stream().mapToInt(Integer::intValue).toArray()), gameId
+                }));
+    jdbcTemplate.batchUpdate("update game set pits = ? where id = ?", batch);
+    jdbcTemplate.execute("drop table pit");
+    return batch.size();
+  }
+}
@@ -0,0 +1,474 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.service.GameIdCodec;
+import com.adorogush.backbasetask.service.IdProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link GameStore} keeping fixed-size game records in a memory-mapped file, enabled with the
+ * {@code mapped-file} profile. The file holds {@code mappedFileStore.capacity} slots; an in-memory
+ * index maps game ids to slots and deleted slots are reused through a free list. Both are rebuilt
+ * by scanning the file on startup.
+ *
+ * <p>Every slot has a used flag and two copies of the record, each with its own checksum. An update
+ * overwrites the copy that does not hold the current state, so a process killed in the middle of a
+ * write leaves the previous state readable. Writes reach the page cache of the operating system and
+ * survive a killed process; they are only forced to the disk on shutdown, so a power loss can lose
+ * recent moves.
+ *
+ * <p>Game ids are stored as the 16 bytes of their uuid. Files of the first format, which stored
+ * them as text of up to 36 characters, are upgraded on startup by copying their games to a new file
+ * that then replaces the old one.
+ */
+@Repository
+@Profile("mapped-file")
+public class MappedFileGameStore implements GameStore {
+
+  private static final Logger log = LogManager.getLogger();
+
+  private static final int MAGIC = 0x4b414c48;
+  private static final int FORMAT_VERSION = 2;
+  private static final int FILE_HEADER_SIZE = 16;
+  private static final int LOCK_STRIPES = 64;
+
+  // record layout: version, nextPlayer, gameOver, id, pits, checksum
+  private static final int VERSION_OFFSET = 0;
+  private static final int NEXT_PLAYER_OFFSET = 8;
+  private static final int GAME_OVER_OFFSET = 9;
+  private static final int ID_OFFSET = 10;
+  private static final int PITS_OFFSET = ID_OFFSET + 16;
+
+  // record layout of the first format, with the id as a length byte and up to 36 characters
+  private static final int FORMAT_1_ID_LENGTH_OFFSET = 10;
+  private static final int FORMAT_1_ID_OFFSET = 11;
+  private static final int FORMAT_1_PITS_OFFSET = FORMAT_1_ID_OFFSET + 36;
+
+  private final IdProvider idProvider;
+  private final int pitCount;
+  private final int capacity;
+  private final int recordSize;
+  private final int slotSize;
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final Map<String, Integer> index = new ConcurrentHashMap<>();
+  private final Deque<Integer> freeSlots = new ArrayDeque<>();
+  private final Object[] locks = new Object[LOCK_STRIPES];
+  private int nextSlot;
+
+  public MappedFileGameStore(
+      final IdProvider idProvider,
+      @Value("${numberOfPits}") final int numberOfPits,
+      @Value("${mappedFileStore.path}") final Path path,
+      @Value("${mappedFileStore.capacity}") final int capacity) {
+    this.idProvider = idProvider;
+    this.pitCount = numberOfPits * 2 + 2;
+    this.capacity = capacity;
+    this.recordSize = PITS_OFFSET + pitCount * 2 + 4;
+    this.slotSize = 1 + recordSize * 2;
+    final long fileSize = FILE_HEADER_SIZE + (long) capacity * slotSize;
+    if (fileSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Game store file would exceed 2 GB: " + fileSize);
+    }
+    for (int i = 0; i < locks.length; i++) {
+      locks[i] = new Object();
+    }
+    if (Files.exists(path) && formatVersion(path) == 1) {
+      upgradeFormat1(idProvider, numberOfPits, path, capacity);
+    }
+    try {
+      channel =
+          FileChannel.open(
+              path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      final boolean created = channel.size() == 0;
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+      if (created) {
+        buffer.putInt(0, MAGIC).putInt(4, FORMAT_VERSION).putInt(8, capacity).putInt(12, pitCount);
+      } else {
+        checkHeader(path);
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not open game store " + path, e);
+    }
+    loadIndex();
+    log.info("Opened game store {} with {} of {} slots used", path, index.size(), capacity);
+  }
+
+  private static int formatVersion(final Path path) {
+    try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+      final ByteBuffer header = ByteBuffer.allocate(8);
+      file.read(header, 0);
+      return header.getInt(0) == MAGIC ? header.getInt(4) : -1;
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not read game store " + path, e);
+    }
+  }
+
+  /** Copies the games of a file of the first format to a new file that replaces it. */
+  private static void upgradeFormat1(
+      final IdProvider idProvider, final int numberOfPits, final Path path, final int capacity) {
+    final Path upgraded = path.resolveSibling(path.getFileName() + ".upgrade");
+    try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+      Files.deleteIfExists(upgraded);
+      final ByteBuffer old = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+      final int pitCount = numberOfPits * 2 + 2;
+      if (old.getInt(8) != capacity || old.getInt(12) != pitCount) {
+        throw new IllegalStateException(
+            "Game store " + path + " was created with a different capacity or number of pits");
+      }
+      final int recordSize = FORMAT_1_PITS_OFFSET + pitCount * 2 + 4;
+      final MappedFileGameStore store =
+          new MappedFileGameStore(idProvider, numberOfPits, upgraded, capacity);
+      for (int slot = 0; slot < capacity; slot++) {
+        final int slotOffset = FILE_HEADER_SIZE + slot * (1 + recordSize * 2);
+        if (old.get(slotOffset) == 0) {
+          continue;
+        }
+        final int first = slotOffset + 1;
+        final int second = first + recordSize;
+        final boolean firstValid =
+            old.getInt(first + recordSize - 4) == checksum(old, first, recordSize);
+        final boolean secondValid =
+            old.getInt(second + recordSize - 4) == checksum(old, second, recordSize);
+        if (!firstValid && !secondValid) {
+          log.warn("Game store slot {} has no valid record", slot);
+          continue;
+        }
+        final int offset =
+            !firstValid
+                    || (secondValid
+                        && old.getLong(second + VERSION_OFFSET)
+                            > old.getLong(first + VERSION_OFFSET))
+                ? second
+                : first;
+        final Optional<GameAndPits> gameAndPits = readFormat1Record(old, offset, pitCount);
+        if (gameAndPits.isEmpty()) {
+          log.warn("Game store slot {} has an invalid game id", slot);
+          continue;
+        }
+        store.insert(gameAndPits.get());
+      }
+      store.close();
+      Files.move(
+          upgraded, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      log.info(
+          "Upgraded game store {} with {} games to format {}",
+          path,
+          store.index.size(),
+          FORMAT_VERSION);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not upgrade game store " + path, e);
+    }
+  }
+
+  private static Optional<GameAndPits> readFormat1Record(
+      final ByteBuffer old, final int offset, final int pitCount) {
+    final byte[] id = new byte[old.get(offset + FORMAT_1_ID_LENGTH_OFFSET)];
+    old.duplicate().position(offset + FORMAT_1_ID_OFFSET).get(id);
+    final int[] pits = new int[pitCount];
+    for (int i = 0; i < pitCount; i++) {
+      pits[i] = old.getShort(offset + FORMAT_1_PITS_OFFSET + i * 2) & 0xFFFF;
+    }
+    final byte nextPlayer = old.get(offset + NEXT_PLAYER_OFFSET);
+    // ids issued before they were canonical are in the uuid form
+    return GameIdCodec.canonical(new String(id, StandardCharsets.US_ASCII))
+        .map(
+            gameId ->
+                new GameAndPits(
+                    new Game(
+                        gameId,
+                        nextPlayer < 0 ? null : Player.ofIndex((int) nextPlayer),
+                        old.get(offset + GAME_OVER_OFFSET) != 0,
+                        old.getLong(offset + VERSION_OFFSET)),
+                    pits));
+  }
+
+  private void checkHeader(final Path path) {
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+      throw new IllegalStateException("Not a game store file: " + path);
+    }
+    if (buffer.getInt(8) != capacity || buffer.getInt(12) != pitCount) {
+      throw new IllegalStateException(
+          "Game store "
+              + path
+              + " was created with a capacity of "
+              + buffer.getInt(8)
+              + " and "
+              + buffer.getInt(12)
+              + " pits");
+    }
+  }
+
+  private void loadIndex() {
+    for (int slot = 0; slot < capacity; slot++) {
+      if (!isUsed(slot)) {
+        continue;
+      }
+      final GameAndPits gameAndPits = readSlot(slot);
+      if (gameAndPits == null) {
+        buffer.put(slotOffset(slot), (byte) 0);
+        continue;
+      }
+      index.put(gameAndPits.game().id(), slot);
+      nextSlot = slot + 1;
+    }
+    for (int slot = 0; slot < nextSlot; slot++) {
+      if (!isUsed(slot)) {
+        freeSlots.add(slot);
+      }
+    }
+  }
+
+  @Override
+  public GameAndPits createGame(final int numberOfPits, final int numberOfStones) {
+    if (numberOfPits * 2 + 2 != pitCount) {
+      throw new IllegalArgumentException("Game store only holds boards of " + pitCount + " pits");
+    }
+    final Game game = new Game(idProvider.get(), null, false, 0);
+    final GameAndPits gameAndPits =
+        new GameAndPits(game, GameAndPitRepository.initialPits(numberOfPits, numberOfStones));
+    insert(gameAndPits);
+    return gameAndPits;
+  }
+
+  private void insert(final GameAndPits gameAndPits) {
+    final Game game = gameAndPits.game();
+    final int slot = allocateSlot();
+    synchronized (lock(slot)) {
+      // the second copy may hold a newer version of a deleted game
+      buffer.putInt(recordOffset(slot, 1) + recordSize - 4, 0);
+      writeRecord(recordOffset(slot, 0), gameAndPits);
+      buffer.put(slotOffset(slot), (byte) 1);
+      index.put(game.id(), slot);
+    }
+  }
+
+  private int allocateSlot() {
+    synchronized (freeSlots) {
+      final Integer free = freeSlots.poll();
+      if (free != null) {
+        return free;
+      }
+      if (nextSlot == capacity) {
+        throw new IllegalStateException("Game store is full, capacity is " + capacity);
+      }
+      return nextSlot++;
+    }
+  }
+
+  @Override
+  public Optional<GameAndPits> readGame(final String gameId) {
+    final Integer slot = index.get(gameId);
+    if (slot == null) {
+      return Optional.empty();
+    }
+    synchronized (lock(slot)) {
+      return Optional.ofNullable(readSlot(slot))
+          .filter(gameAndPits -> gameAndPits.game().id().equals(gameId));
+    }
+  }
+
+  @Override
+  public boolean updateGame(
+      final GameAndPits gameAndPits, final long expectedVersion, final int pitId) {
+    return write(gameAndPits, expectedVersion);
+  }
+
+  @Override
+  public boolean[] updateGames(
+      final List<GameAndPits> games, final long[] expectedVersions, final int[] pitIds) {
+    final boolean[] updated = new boolean[games.size()];
+    for (int i = 0; i < games.size(); i++) {
+      updated[i] = write(games.get(i), expectedVersions[i]);
+    }
+    return updated;
+  }
+
+  @Override
+  public void writeGame(final GameAndPits gameAndPits) {
+    write(gameAndPits, -1);
+  }
+
+  /** Compare-and-set with {@code expectedVersion}, or only if newer when it is negative. */
+  private boolean write(final GameAndPits gameAndPits, final long expectedVersion) {
+    final Game game = gameAndPits.game();
+    final Integer slot = index.get(game.id());
+    if (slot == null) {
+      return false;
+    }
+    synchronized (lock(slot)) {
+      if (!isUsed(slot)) {
+        return false;
+      }
+      final int current = currentRecord(slot);
+      final long version = buffer.getLong(recordOffset(slot, current) + VERSION_OFFSET);
+      if (!uuid(game.id()).equals(readId(recordOffset(slot, current)))
+          || (expectedVersion < 0 ? version >= game.version() : version != expectedVersion)) {
+        return false;
+      }
+      writeRecord(recordOffset(slot, 1 - current), gameAndPits);
+      return true;
+    }
+  }
+
+  @Override
+  public boolean deleteGame(final String gameId) {
+    final Integer slot = index.get(gameId);
+    if (slot == null) {
+      return false;
+    }
+    synchronized (lock(slot)) {
+      if (!index.remove(gameId, slot)) {
+        return false;
+      }
+      buffer.put(slotOffset(slot), (byte) 0);
+    }
+    synchronized (freeSlots) {
+      freeSlots.add(slot);
+    }
+    return true;
+  }
+
+  @PreDestroy
+  public void close() throws IOException {
+    buffer.force();
+    channel.close();
+  }
+
+  private Object lock(final int slot) {
+    return locks[slot % LOCK_STRIPES];
+  }
+
+  private int slotOffset(final int slot) {
+    return FILE_HEADER_SIZE + slot * slotSize;
+  }
+
+  private int recordOffset(final int slot, final int copy) {
+    return slotOffset(slot) + 1 + copy * recordSize;
+  }
+
+  private boolean isUsed(final int slot) {
+    return buffer.get(slotOffset(slot)) != 0;
+  }
+
+  /** The copy holding the current state: the valid one with the higher version. */
+  private int currentRecord(final int slot) {
+    final boolean firstValid = isValid(recordOffset(slot, 0));
+    final boolean secondValid = isValid(recordOffset(slot, 1));
+    if (firstValid && secondValid) {
+      return buffer.getLong(recordOffset(slot, 1) + VERSION_OFFSET)
+              > buffer.getLong(recordOffset(slot, 0) + VERSION_OFFSET)
+          ? 1
+          : 0;
+    }
+    if (firstValid || secondValid) {
+      return firstValid ? 0 : 1;
+    }
+    return -1;
+  }
+
+  private GameAndPits readSlot(final int slot) {
+    final int current = currentRecord(slot);
+    if (current < 0) {
+      log.warn("Game store slot {} has no valid record", slot);
+      return null;
+    }
+    final int offset = recordOffset(slot, current);
+    final int[] pits = new int[pitCount];
+    for (int i = 0; i < pitCount; i++) {
+      pits[i] = buffer.getShort(offset + PITS_OFFSET + i * 2) & 0xFFFF;
+    }
+    final byte nextPlayer = buffer.get(offset + NEXT_PLAYER_OFFSET);
+    final Game game =
+        new Game(
+            GameIdCodec.format(readId(offset)),
+            nextPlayer < 0 ? null : Player.ofIndex((int) nextPlayer),
+            buffer.get(offset + GAME_OVER_OFFSET) != 0,
+            buffer.getLong(offset + VERSION_OFFSET));
+    return new GameAndPits(game, pits);
+  }
+
+  private UUID readId(final int offset) {
+    return new UUID(buffer.getLong(offset + ID_OFFSET), buffer.getLong(offset + ID_OFFSET + 8));
+  }
+
+  private static UUID uuid(final String gameId) {
+    return GameIdCodec.parse(gameId)
+        .orElseThrow(() -> new IllegalArgumentException("Not a game id: " + gameId));
+  }
+
+  private void writeRecord(final int offset, final GameAndPits gameAndPits) {
+    final int[] pits = gameAndPits.pits();
+    for (final int stones : pits) {
+      if (stones > PitsCodec.MAX_STONES_IN_PIT) {
+        throw new IllegalArgumentException("Pit size is out of range: " + stones);
+      }
+    }
+    final Game game = gameAndPits.game();
+    final UUID id = uuid(game.id());
+    buffer.putLong(offset + VERSION_OFFSET, game.version());
+    buffer.put(
+        offset + NEXT_PLAYER_OFFSET,
+        game.nextPlayer() == null ? -1 : (byte) game.nextPlayer().index());
+    buffer.put(offset + GAME_OVER_OFFSET, (byte) (game.gameOver() ? 1 : 0));
+    buffer.putLong(offset + ID_OFFSET, id.getMostSignificantBits());
+    buffer.putLong(offset + ID_OFFSET + 8, id.getLeastSignificantBits());
+    for (int i = 0; i < pitCount; i++) {
+      buffer.putShort(offset + PITS_OFFSET + i * 2, (short) pits[i]);
+    }
+    buffer.putInt(offset + recordSize - 4, checksum(buffer, offset, recordSize));
+  }
+
+  private boolean isValid(final int offset) {
+    return buffer.getInt(offset + recordSize - 4) == checksum(buffer, offset, recordSize);
+  }
+
+  /** Never 0, which marks a copy that was invalidated on purpose. */
+  private static int checksum(final ByteBuffer buffer, final int offset, final int recordSize) {
+    final CRC32C crc = new CRC32C();
+    final ByteBuffer record = buffer.duplicate();
+    record.position(offset).limit(offset + recordSize - 4);
+    crc.update(record);
+    return (int) crc.getValue() | 1;
+  }
+}
@@ -0,0 +1,159 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.service.IdProvider;
+import com.adorogush.backbasetask.service.Move;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Event sourced variant of {@link GameAndPitRepository}, enabled with {@code moveLog.enabled}. A
+ * move appends a single row (game id, sequence, pit id, player) to the {@code move} table and the
+ * primary key on game id and sequence plays the role of the compare-and-set. The {@code game} row
+ * only holds a snapshot that is rewritten every {@code moveLog.snapshotInterval} moves and when the
+ * game is over; reads replay the moves made after the snapshot through {@link Move}.
+ *
+ * <p>The {@code move} table is the full history of every game, except for moves flushed by the
+ * {@code write-behind} cache, which only writes snapshots.
+ */
+@Repository
+@Profile("!mapped-file")
+@ConditionalOnProperty(name = "moveLog.enabled", havingValue = "true")
+public class MoveLogGameAndPitRepository extends GameAndPitRepository {
+
+  private static final String INSERT_MOVE =
+      "insert into move (gameId, seq, pitId, player) values (?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int snapshotInterval;
+
+  public MoveLogGameAndPitRepository(
+      final IdProvider idProvider,
+      final JdbcTemplate jdbcTemplate,
+      @Value("${moveLog.snapshotInterval}") final int snapshotInterval) {
+    super(idProvider, jdbcTemplate);
+    this.jdbcTemplate = jdbcTemplate;
+    this.snapshotInterval = snapshotInterval;
+  }
+
+  @Override
+  public Optional<GameAndPits> readGame(final String gameId) {
+    return super.readGame(gameId).map(this::replay);
+  }
+
+  /** The sequence number of the last move, or the snapshot version if no move followed it. */
+  @Override
+  public OptionalLong readVersion(final String gameId) {
+    return readVersion(
+        gameId,
+        "select greatest(g.version, coalesce(max(m.seq), 0)) from game g"
+            + " left join move m on m.gameId = g.id where g.id = ? group by g.version");
+  }
+
+  private GameAndPits replay(final GameAndPits snapshot) {
+    final Game game = snapshot.game();
+    final List<Integer> pitIds =
+        jdbcTemplate.query(
+            "select pitId from move where gameId = ? and seq > ? order by seq",
+            (rs, rowNum) -> rs.getInt(1),
+            uuid(game.id()),
+            game.version());
+    if (pitIds.isEmpty()) {
+      return snapshot;
+    }
+    final int[] pits = snapshot.pits();
+    final int pitsPerPlayer = pits.length / 2 - 1;
+    Player nextPlayer = game.nextPlayer();
+    boolean gameOver = game.gameOver();
+    for (final int pitId : pitIds) {
+      final Player player = pitOwner(pits, pitId);
+      final Move move = new Move(pitsPerPlayer, pits, pitId);
+      move.move();
+      nextPlayer = move.isExtraMove() ? player : player.opponent();
+      gameOver = move.isGameOver();
+    }
+    final long version = game.version() + pitIds.size();
+    return new GameAndPits(new Game(game.id(), nextPlayer, gameOver, version), pits);
+  }
+
+  @Override
+  public boolean updateGame(
+      final GameAndPits gameAndPits, final long expectedVersion, final int pitId) {
+    return updateGame(gameAndPits, expectedVersion, new int[] {pitId});
+  }
+
+  /**
+   * The first move is the compare-and-set, the others can not collide once it is inserted and are
+   * appended as one batch.
+   */
+  @Override
+  public boolean updateGame(
+      final GameAndPits gameAndPits, final long expectedVersion, final int[] pitIds) {
+    final Game game = gameAndPits.game();
+    final UUID gameId = uuid(game.id());
+    final int[] pits = gameAndPits.pits();
+    try {
+      jdbcTemplate.update(
+          INSERT_MOVE, gameId, expectedVersion + 1, pitIds[0], pitOwner(pits, pitIds[0]).index());
+    } catch (final DataIntegrityViolationException e) {
+      // the sequence number is taken by a concurrent move or the game was deleted
+      return false;
+    }
+    if (pitIds.length > 1) {
+      final List<Object[]> moves = new ArrayList<>(pitIds.length - 1);
+      for (int i = 1; i < pitIds.length; i++) {
+        moves.add(
+            new Object[] {
+              gameId, expectedVersion + 1 + i, pitIds[i], pitOwner(pits, pitIds[i]).index()
+            });
+      }
+      jdbcTemplate.batchUpdate(INSERT_MOVE, moves);
+    }
+    if (game.version() / snapshotInterval != expectedVersion / snapshotInterval
+        || game.gameOver()) {
+      writeGame(gameAndPits);
+    }
+    return true;
+  }
+
+  /** Appended one by one: a duplicate sequence number must only reject its own move. */
+  @Override
+  public boolean[] updateGames(
+      final List<GameAndPits> games, final long[] expectedVersions, final int[] pitIds) {
+    final boolean[] updated = new boolean[games.size()];
+    for (int i = 0; i < games.size(); i++) {
+      updated[i] = updateGame(games.get(i), expectedVersions[i], pitIds[i]);
+    }
+    return updated;
+  }
+
+  private static Player pitOwner(final int[] pits, final int pitId) {
+    return pitId < pits.length / 2 ? Player.ONE : Player.TWO;
+  }
+}
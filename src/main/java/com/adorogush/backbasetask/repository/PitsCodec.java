@@ -0,0 +1,48 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+/**
+ * Packs the pits of a board into a compact binary column value. Every pit is stored as an unsigned
+ * 16-bit big-endian integer, so the standard board of 14 pits takes 28 bytes.
+ */
+final class PitsCodec {
+
+  static final int MAX_STONES_IN_PIT = 0xFFFF;
+
+  private PitsCodec() {}
+
+  static byte[] encode(final int[] pits) {
+    final byte[] bytes = new byte[pits.length * 2];
+    for (int i = 0; i < pits.length; i++) {
+      final int stones = pits[i];
+      if (stones < 0 || stones > MAX_STONES_IN_PIT) {
+        throw new IllegalArgumentException("Pit size is out of range: " + stones);
+      }
+      bytes[i * 2] = (byte) (stones >>> 8);
+      bytes[i * 2 + 1] = (byte) stones;
+    }
+    return bytes;
+  }
+
+  static int[] decode(final byte[] bytes) {
+    final int[] pits = new int[bytes.length / 2];
+    for (int i = 0; i < pits.length; i++) {
+      pits[i] = (bytes[i * 2] & 0xFF) << 8 | bytes[i * 2 + 1] & 0xFF;
+    }
+    return pits;
+  }
+}
@@ -0,0 +1,83 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import com.adorogush.backbasetask.exception.ValidationException;
+import com.adorogush.backbasetask.model.AiMove;
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.model.SearchResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Plays the move of the next player for them, chosen by {@link MoveSearch} within {@code
+ * aiMove.timeBudget}. Player one moves if nobody has moved yet. The depth reached and the nodes
+ * searched per second are published as metrics.
+ */
+@Service
+public class AiMoveService {
+
+  private static final Logger log = LogManager.getLogger();
+
+  private final GameService gameService;
+  private final MoveSearch moveSearch;
+  private final Duration timeBudget;
+  private final DistributionSummary depths;
+  private final DistributionSummary nodesPerSecond;
+
+  public AiMoveService(
+      final GameService gameService,
+      final MoveSearch moveSearch,
+      @Value("${aiMove.timeBudget}") final Duration timeBudget,
+      final MeterRegistry meterRegistry) {
+    this.gameService = gameService;
+    this.moveSearch = moveSearch;
+    this.timeBudget = timeBudget;
+    this.depths = meterRegistry.summary("games.ai.depth");
+    this.nodesPerSecond = meterRegistry.summary("games.ai.nodesPerSecond");
+  }
+
+  /**
+   * Searches the best move on the current state of the game and applies it like {@link
+   * GameService#makeMove(String, int)}, which validates it again against the latest state.
+   */
+  public AiMove makeAiMove(final String gameId) {
+    final GameAndPits gameAndPits = gameService.readGame(gameId);
+    final Game game = gameAndPits.game();
+    if (game.gameOver()) {
+      throw new ValidationException("Game is over.");
+    }
+    final Player player = game.nextPlayer() == null ? Player.ONE : game.nextPlayer();
+    final SearchResult search = moveSearch.search(gameAndPits.pits(), player, timeBudget);
+    depths.record(search.depth());
+    nodesPerSecond.record(search.nodesPerSecond());
+    log.debug(
+        "Game {}: pit {} scores {} at depth {}, {} nodes/s",
+        gameId,
+        search.pitId(),
+        search.score(),
+        search.depth(),
+        search.nodesPerSecond());
+    return new AiMove(gameService.makeMove(gameId, search.pitId()), search);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import com.adorogush.backbasetask.exception.ValidationException;
+import com.adorogush.backbasetask.model.Analysis;
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scores every move of the next player with {@link MoveSearch#analyze}, within {@code
+ * analysis.timeBudget}. Player one is analyzed if nobody has moved yet.
+ *
+ * <p>Analyses are cached by position, so games that reach the same board share them. Up to {@code
+ * analysis.cacheSize} positions are kept; concurrent requests for a position that is being analyzed
+ * wait for that analysis instead of starting their own. Hits and misses are published as metrics of
+ * the {@code analyses} cache.
+ */
+@Service
+public class AnalysisService {
+
+  private final GameService gameService;
+  private final MoveSearch moveSearch;
+  private final Duration timeBudget;
+  private final AsyncCache<Position, Analysis> cache;
+
+  public AnalysisService(
+      final GameService gameService,
+      final MoveSearch moveSearch,
+      @Value("${analysis.timeBudget}") final Duration timeBudget,
+      @Value("${analysis.cacheSize}") final long cacheSize,
+      final MeterRegistry meterRegistry) {
+    this.gameService = gameService;
+    this.moveSearch = moveSearch;
+    this.timeBudget = timeBudget;
+    this.cache = Caffeine.newBuilder().maximumSize(cacheSize).recordStats().buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "analyses");
+  }
+
+  public Analysis analyze(final String gameId) {
+    final GameAndPits gameAndPits = gameService.readGame(gameId);
+    final Game game = gameAndPits.game();
+    if (game.gameOver()) {
+      throw new ValidationException("Game is over.");
+    }
+    final Player player = game.nextPlayer() == null ? Player.ONE : game.nextPlayer();
+    final Position position = new Position(gameAndPits.pits(), player);
+    // only an incomplete future is put into the cache while its map is locked, the analysis runs
+    // afterwards on the requesting thread
+    final CompletableFuture<Analysis> created = new CompletableFuture<>();
+    final CompletableFuture<Analysis> analysis = cache.get(position, (key, executor) -> created);
+    if (analysis == created) {
+      try {
+        created.complete(moveSearch.analyze(position.pits, position.player, timeBudget));
+      } catch (final RuntimeException e) {
+        // a failed analysis is removed from the cache
+        created.completeExceptionally(e);
+      }
+    }
+    return analysis.join();
+  }
+
+  /** A board and the player to move. */
+  private static final class Position {
+    private final int[] pits;
+    private final Player player;
+
+    private Position(final int[] pits, final Player player) {
+      this.pits = pits;
+      this.player = player;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (!(o instanceof Position)) {
+        return false;
+      }
+      final Position other = (Position) o;
+      return player == other.player && Arrays.equals(pits, other.pits);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Arrays.hashCode(pits) + player.hashCode();
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Precomputed layout of a board with a given number of pits per player: the owner and opposite pit
+ * of every pit, the kalah of every player and the order in which each player sows. Player one owns
+ * pits {@code 0..pitsPerPlayer}, player two the rest; the last pit of each player is the kalah.
+ * Instances are immutable and shared.
+ */
+final class BoardGeometry {
+
+  private static final ConcurrentMap<Integer, BoardGeometry> GEOMETRIES = new ConcurrentHashMap<>();
+
+  final int pitsPerPlayer;
+  final int[] kalahIds;
+  final int[] owners;
+  final int[] oppositePitIds;
+  /** For every player the pits they sow into, starting with pit 0: all but the opponent kalah. */
+  final int[][] sowingOrders;
+  /** For every player the position of each pit in their sowing order, -1 for the opponent kalah. */
+  final int[][] sowingPositions;
+
+  private BoardGeometry(final int pitsPerPlayer) {
+    this.pitsPerPlayer = pitsPerPlayer;
+    final int pitCount = pitsPerPlayer * 2 + 2;
+    kalahIds = new int[] {pitsPerPlayer, pitCount - 1};
+    owners = new int[pitCount];
+    oppositePitIds = new int[pitCount];
+    for (int pitId = 0; pitId < pitCount; pitId++) {
+      owners[pitId] = pitId <= pitsPerPlayer ? 0 : 1;
+      oppositePitIds[pitId] = pitsPerPlayer * 2 - pitId;
+    }
+    sowingOrders = new int[2][pitCount - 1];
+    sowingPositions = new int[2][pitCount];
+    for (int player = 0; player < 2; player++) {
+      final int opponentKalahId = kalahIds[1 - player];
+      int position = 0;
+      for (int pitId = 0; pitId < pitCount; pitId++) {
+        if (pitId == opponentKalahId) {
+          sowingPositions[player][pitId] = -1;
+        } else {
+          sowingOrders[player][position] = pitId;
+          sowingPositions[player][pitId] = position++;
+        }
+      }
+    }
+  }
+
+  static BoardGeometry of(final int pitsPerPlayer) {
+    final BoardGeometry geometry = GEOMETRIES.get(pitsPerPlayer);
+    if (geometry != null) {
+      return geometry;
+    }
+    return GEOMETRIES.computeIfAbsent(pitsPerPlayer, BoardGeometry::new);
+  }
+
+  boolean isKalah(final int pitId) {
+    return pitId == kalahIds[owners[pitId]];
+  }
+}
@@ -0,0 +1,294 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Exact values of every position with at most {@code maxStones} stones left in the pits, built
+ * offline by {@link EndgameTablebaseGenerator} and memory-mapped from its file. The value of a
+ * position is what the player to move still gains over the opponent with perfect play of both: the
+ * stones their kalah receives until the game is over minus those of the opponent kalah. Stones in
+ * the kalahs do not take part in the play, so a search adds the value to the current kalah
+ * difference.
+ *
+ * <p>Positions are stored from the side of the player to move, so a board and its mirror image with
+ * the other player to move share one entry. The positions with {@code n} stones are numbered after
+ * all positions with fewer stones, in lexicographic order of the stones per pit, starting with the
+ * pits of the player to move. Each value is one byte, so a lookup is a read of the mapped file at
+ * an index computed from the pits.
+ *
+ * <p>File layout: magic, format version, pits per player and maximum stones as {@code int}s,
+ * followed by the values.
+ */
+public class EndgameTablebase {
+
+  private static final Logger log = LogManager.getLogger();
+
+  static final int MAGIC = 0x4b54424c;
+  static final int FORMAT_VERSION = 1;
+  static final int HEADER_SIZE = 16;
+  private static final long MAX_SIZE = Integer.MAX_VALUE - HEADER_SIZE;
+
+  private final BoardGeometry geometry;
+  private final int maxStones;
+  private final int slotCount;
+  // for every player the pit of each slot of the numbering, starting with the pits of that player
+  private final int[][] slotPitIds;
+  // the index of the first position with the given number of stones, up to maxStones + 1
+  private final long[] offsets;
+  // [slots][stones][v]: positions of the stones in the slots with fewer than v in the first slot
+  private final long[][][] below;
+  private final ByteBuffer values;
+
+  /** An empty tablebase in memory, filled by {@link EndgameTablebaseGenerator}. */
+  EndgameTablebase(final int pitsPerPlayer, final int maxStones) {
+    this(pitsPerPlayer, maxStones, null);
+  }
+
+  private EndgameTablebase(final int pitsPerPlayer, final int maxStones, final ByteBuffer values) {
+    if (pitsPerPlayer < 1 || maxStones < 0 || maxStones > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "Unsupported endgame tablebase of "
+              + pitsPerPlayer
+              + " pits and "
+              + maxStones
+              + " stones");
+    }
+    this.geometry = BoardGeometry.of(pitsPerPlayer);
+    this.maxStones = maxStones;
+    this.slotCount = pitsPerPlayer * 2;
+    this.slotPitIds = new int[2][slotCount];
+    for (int player = 0; player < 2; player++) {
+      for (int slot = 0; slot < slotCount; slot++) {
+        final int side = slot < pitsPerPlayer ? player : 1 - player;
+        slotPitIds[player][slot] = geometry.kalahIds[side] - pitsPerPlayer + slot % pitsPerPlayer;
+      }
+    }
+    // ways to put the stones into the slots, capped as any count above MAX_SIZE is rejected
+    final long[][] compositions = new long[slotCount + 1][maxStones + 1];
+    compositions[0][0] = 1;
+    for (int slots = 1; slots <= slotCount; slots++) {
+      for (int stones = 0; stones <= maxStones; stones++) {
+        long sum = 0;
+        for (int first = 0; first <= stones; first++) {
+          sum += compositions[slots - 1][stones - first];
+        }
+        compositions[slots][stones] = Math.min(sum, MAX_SIZE + 1);
+      }
+    }
+    this.offsets = new long[maxStones + 2];
+    for (int stones = 0; stones <= maxStones; stones++) {
+      offsets[stones + 1] = offsets[stones] + compositions[slotCount][stones];
+    }
+    if (offsets[maxStones + 1] > MAX_SIZE) {
+      throw new IllegalArgumentException(
+          "Endgame tablebase of "
+              + pitsPerPlayer
+              + " pits and "
+              + maxStones
+              + " stones would exceed 2 GB");
+    }
+    this.below = new long[slotCount + 1][maxStones + 1][maxStones + 2];
+    for (int slots = 1; slots <= slotCount; slots++) {
+      for (int stones = 0; stones <= maxStones; stones++) {
+        for (int first = 0; first <= stones; first++) {
+          below[slots][stones][first + 1] =
+              below[slots][stones][first] + compositions[slots - 1][stones - first];
+        }
+      }
+    }
+    this.values = values != null ? values : ByteBuffer.allocate((int) size());
+  }
+
+  /** Maps a file written by {@link EndgameTablebaseGenerator}. */
+  public static EndgameTablebase open(final Path path) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (channel.size() < HEADER_SIZE
+          || buffer.getInt(0) != MAGIC
+          || buffer.getInt(4) != FORMAT_VERSION) {
+        throw new IllegalStateException("Not an endgame tablebase file: " + path);
+      }
+      final EndgameTablebase tablebase =
+          new EndgameTablebase(
+              buffer.getInt(8), buffer.getInt(12), buffer.position(HEADER_SIZE).slice());
+      if (tablebase.size() != channel.size() - HEADER_SIZE) {
+        throw new IllegalStateException("Endgame tablebase " + path + " is truncated");
+      }
+      log.info(
+          "Opened endgame tablebase {} of {} pits per player up to {} stones, {} bytes",
+          path,
+          tablebase.pitsPerPlayer(),
+          tablebase.maxStones(),
+          channel.size());
+      return tablebase;
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not open endgame tablebase " + path, e);
+    }
+  }
+
+  public int pitsPerPlayer() {
+    return geometry.pitsPerPlayer;
+  }
+
+  public int maxStones() {
+    return maxStones;
+  }
+
+  /** The number of positions, one byte each. */
+  public long size() {
+    return offsets[maxStones + 1];
+  }
+
+  /** Whether the board is of this size and has at most {@link #maxStones()} stones in its pits. */
+  public boolean contains(final int[] pits) {
+    return pits.length == slotCount + 2 && stones(pits) <= maxStones;
+  }
+
+  /**
+   * What {@code player} (0 or 1), to move on a board the tablebase {@link #contains(int[])}, still
+   * gains over the opponent with perfect play.
+   */
+  public int value(final int[] pits, final int player) {
+    return values.get(index(pits, player, stones(pits)));
+  }
+
+  /** The pit of a best move of {@code player}, who must have a move on a contained board. */
+  public int bestPitId(final int[] pits, final int player) {
+    final int[] board = new int[pits.length];
+    final int kalahId = geometry.kalahIds[player];
+    int best = Integer.MIN_VALUE;
+    int bestPitId = -1;
+    for (int pitId = kalahId - geometry.pitsPerPlayer; pitId < kalahId; pitId++) {
+      if (pits[pitId] > 0) {
+        final int value = valueOfMove(pits, player, pitId, board);
+        if (value > best) {
+          best = value;
+          bestPitId = pitId;
+        }
+      }
+    }
+    return bestPitId;
+  }
+
+  /** The index of the first position with {@code stones} stones, up to {@code maxStones + 1}. */
+  long offset(final int stones) {
+    return offsets[stones];
+  }
+
+  /**
+   * Writes the position of the given index among those of {@code stones} to the pits of player one
+   * to move, with empty kalahs.
+   */
+  void position(final int stones, final long rank, final int[] pits) {
+    pits[geometry.kalahIds[0]] = 0;
+    pits[geometry.kalahIds[1]] = 0;
+    long remainingRank = rank;
+    int remaining = stones;
+    for (int slot = 0; slot < slotCount - 1; slot++) {
+      final long[] counts = below[slotCount - slot][remaining];
+      int first = 0;
+      while (first < remaining && counts[first + 1] <= remainingRank) {
+        first++;
+      }
+      remainingRank -= counts[first];
+      remaining -= first;
+      pits[slotPitIds[0][slot]] = first;
+    }
+    pits[slotPitIds[0][slotCount - 1]] = remaining;
+  }
+
+  /**
+   * The value of the position of player one to move from the values of the positions its moves lead
+   * to, which must be set. If a side has no stones the game is over and each player gets the stones
+   * of their side.
+   */
+  int solve(final int[] pits, final int[] board) {
+    final int ownStones = sideStones(pits, 0);
+    final int opponentStones = sideStones(pits, 1);
+    if (ownStones == 0 || opponentStones == 0) {
+      return ownStones - opponentStones;
+    }
+    int best = Integer.MIN_VALUE;
+    for (int pitId = 0; pitId < geometry.pitsPerPlayer; pitId++) {
+      if (pits[pitId] > 0) {
+        best = Math.max(best, valueOfMove(pits, 0, pitId, board));
+      }
+    }
+    return best;
+  }
+
+  /** Sets a value, distinct indexes may be set by concurrent threads. */
+  void set(final long index, final int value) {
+    values.put((int) index, (byte) value);
+  }
+
+  /** The values from the first, for writing. */
+  ByteBuffer values() {
+    return values.duplicate().clear();
+  }
+
+  /** The gain of the move of {@code pitId} followed by perfect play, using {@code board}. */
+  private int valueOfMove(final int[] pits, final int player, final int pitId, final int[] board) {
+    System.arraycopy(pits, 0, board, 0, pits.length);
+    final int kalahId = geometry.kalahIds[player];
+    final int opponentKalahId = geometry.kalahIds[1 - player];
+    final Move move = new Move(geometry, board, pitId);
+    move.move();
+    final int gain =
+        board[kalahId] - pits[kalahId] - (board[opponentKalahId] - pits[opponentKalahId]);
+    if (move.isGameOver()) {
+      return gain;
+    }
+    if (move.isExtraMove()) {
+      return gain + value(board, player);
+    }
+    return gain - value(board, 1 - player);
+  }
+
+  private int index(final int[] pits, final int player, final int stones) {
+    final int[] pitIds = slotPitIds[player];
+    long index = offsets[stones];
+    int remaining = stones;
+    for (int slot = 0; slot < slotCount - 1 && remaining > 0; slot++) {
+      final int first = pits[pitIds[slot]];
+      index += below[slotCount - slot][remaining][first];
+      remaining -= first;
+    }
+    return (int) index;
+  }
+
+  private int stones(final int[] pits) {
+    return sideStones(pits, 0) + sideStones(pits, 1);
+  }
+
+  private int sideStones(final int[] pits, final int player) {
+    final int kalahId = geometry.kalahIds[player];
+    int sum = 0;
+    for (int pitId = kalahId - geometry.pitsPerPlayer; pitId < kalahId; pitId++) {
+      sum += pits[pitId];
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,175 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Builds an {@link EndgameTablebase} by retrograde analysis, solving positions backwards from the
+ * end of the game: all positions with {@code n} stones in the pits are solved before any with
+ * {@code n + 1}. A move either puts stones into a kalah, leading to fewer stones, or keeps them all
+ * in the pits of the moving player, each closer to its kalah. Within one number of stones positions
+ * are therefore solved in increasing order of the distance of all stones to the kalah of their
+ * side: every move leads to a position that is already solved, and the positions of one distance
+ * are solved in parallel on all processors.
+ *
+ * <p>Run with the number of pits per player, the maximum number of stones and the file to write, it
+ * prints the build time and the file size reached with every number of stones.
+ */
+public final class EndgameTablebaseGenerator {
+
+  // positions solved per task
+  private static final int CHUNK_SIZE = 4096;
+
+  private EndgameTablebaseGenerator() {}
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 3) {
+      System.err.println("Usage: EndgameTablebaseGenerator <numberOfPits> <maxStones> <file>");
+      System.exit(2);
+    }
+    generate(Integer.parseInt(args[0]), Integer.parseInt(args[1]), Path.of(args[2]));
+  }
+
+  /** Builds the tablebase and writes it to {@code path}, printing the progress. */
+  public static void generate(final int pitsPerPlayer, final int maxStones, final Path path)
+      throws IOException {
+    System.out.println("stones  positions  millis  file bytes");
+    final EndgameTablebase tablebase = build(pitsPerPlayer, maxStones, System.out::println);
+    write(tablebase, path);
+    System.out.println("Wrote " + path);
+  }
+
+  /** Builds the tablebase in memory, reporting the progress after every number of stones. */
+  static EndgameTablebase build(
+      final int pitsPerPlayer, final int maxStones, final Consumer<String> progress) {
+    final EndgameTablebase tablebase = new EndgameTablebase(pitsPerPlayer, maxStones);
+    final long start = System.nanoTime();
+    for (int stones = 0; stones <= maxStones; stones++) {
+      solve(tablebase, pitsPerPlayer, stones);
+      progress.accept(
+          String.format(
+              "%6d %10d %7d %11d",
+              stones,
+              tablebase.offset(stones + 1) - tablebase.offset(stones),
+              (System.nanoTime() - start) / 1_000_000,
+              EndgameTablebase.HEADER_SIZE + tablebase.offset(stones + 1)));
+    }
+    return tablebase;
+  }
+
+  private static void solve(
+      final EndgameTablebase tablebase, final int pitsPerPlayer, final int stones) {
+    final long offset = tablebase.offset(stones);
+    final int count = (int) (tablebase.offset(stones + 1) - offset);
+    final int pitCount = pitsPerPlayer * 2 + 2;
+    // the distance of all stones to their kalah of every position, then positions by distance
+    final int maxDistance = stones * pitsPerPlayer;
+    final short[] distances = new short[count];
+    inChunks(
+        count,
+        (from, to) -> {
+          final int[] pits = new int[pitCount];
+          for (int rank = from; rank < to; rank++) {
+            tablebase.position(stones, rank, pits);
+            distances[rank] = (short) distance(pits, pitsPerPlayer);
+          }
+        });
+    final int[] starts = new int[maxDistance + 2];
+    for (final short distance : distances) {
+      starts[distance + 1]++;
+    }
+    for (int distance = 0; distance <= maxDistance; distance++) {
+      starts[distance + 1] += starts[distance];
+    }
+    final int[] byDistance = new int[count];
+    final int[] next = starts.clone();
+    for (int rank = 0; rank < count; rank++) {
+      byDistance[next[distances[rank]]++] = rank;
+    }
+    for (int distance = 0; distance <= maxDistance; distance++) {
+      final int first = starts[distance];
+      inChunks(
+          starts[distance + 1] - first,
+          (from, to) -> {
+            final int[] pits = new int[pitCount];
+            final int[] board = new int[pitCount];
+            for (int i = first + from; i < first + to; i++) {
+              final int rank = byDistance[i];
+              tablebase.position(stones, rank, pits);
+              tablebase.set(offset + rank, tablebase.solve(pits, board));
+            }
+          });
+    }
+  }
+
+  /** The sum over all stones of the number of pits they are away from the kalah of their side. */
+  private static int distance(final int[] pits, final int pitsPerPlayer) {
+    int distance = 0;
+    for (int i = 0; i < pitsPerPlayer; i++) {
+      distance += (pits[i] + pits[pitsPerPlayer + 1 + i]) * (pitsPerPlayer - i);
+    }
+    return distance;
+  }
+
+  private static void inChunks(final int count, final Chunk task) {
+    IntStream.range(0, (count + CHUNK_SIZE - 1) / CHUNK_SIZE)
+        .parallel()
+        .forEach(chunk -> task.run(chunk * CHUNK_SIZE, Math.min(count, (chunk + 1) * CHUNK_SIZE)));
+  }
+
+  /**
+   * Writes to a temporary file that then replaces {@code path}, so a crash leaves no partial file.
+   */
+  static void write(final EndgameTablebase tablebase, final Path path) throws IOException {
+    final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel channel =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      final ByteBuffer header =
+          ByteBuffer.allocate(EndgameTablebase.HEADER_SIZE)
+              .putInt(EndgameTablebase.MAGIC)
+              .putInt(EndgameTablebase.FORMAT_VERSION)
+              .putInt(tablebase.pitsPerPlayer())
+              .putInt(tablebase.maxStones())
+              .flip();
+      final ByteBuffer values = tablebase.values();
+      while (header.hasRemaining() || values.hasRemaining()) {
+        channel.write(new ByteBuffer[] {header, values});
+      }
+      channel.force(false);
+    }
+    Files.move(
+        temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /** Processes the positions from {@code from} inclusive to {@code to} exclusive. */
+  @FunctionalInterface
+  private interface Chunk {
+    void run(int from, int to);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Converts game ids between their {@link UUID} form, stored in the database, and their text form,
+ * used in URLs. Ids are rendered as 26 lowercase characters of Crockford's base32 alphabet, which
+ * sort in the same order as the underlying 128 bits. This is the only form games are known by
+ * inside the application: ids received from clients are converted with {@link #canonical(String)},
+ * which also accepts uppercase characters and the 36 character uuid form of ids issued before.
+ */
+public final class GameIdCodec {
+
+  private static final int LENGTH = 26;
+  private static final char[] ALPHABET = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+  // character values of the canonical form, and of any case
+  private static final byte[] VALUES = new byte[128];
+  private static final byte[] ANY_CASE_VALUES = new byte[128];
+
+  static {
+    Arrays.fill(VALUES, (byte) -1);
+    Arrays.fill(ANY_CASE_VALUES, (byte) -1);
+    for (int i = 0; i < ALPHABET.length; i++) {
+      VALUES[ALPHABET[i]] = (byte) i;
+      ANY_CASE_VALUES[ALPHABET[i]] = (byte) i;
+      ANY_CASE_VALUES[Character.toUpperCase(ALPHABET[i])] = (byte) i;
+    }
+  }
+
+  private GameIdCodec() {}
+
+  public static String format(final UUID uuid) {
+    final char[] chars = new char[LENGTH];
+    long high = uuid.getMostSignificantBits();
+    long low = uuid.getLeastSignificantBits();
+    for (int i = LENGTH - 1; i >= 0; i--) {
+      chars[i] = ALPHABET[(int) (low & 31)];
+      low = low >>> 5 | high << 59;
+      high >>>= 5;
+    }
+    return new String(chars);
+  }
+
+  /** Returns empty if {@code id} is not a game id in its canonical form. */
+  public static Optional<UUID> parse(final String id) {
+    return decode(id, VALUES);
+  }
+
+  /**
+   * The canonical form of a game id received in any of the supported forms, empty if {@code id} is
+   * not a game id.
+   */
+  public static Optional<String> canonical(final String id) {
+    if (id.length() == 36) {
+      // UUID.fromString also accepts other spellings, such as shorter groups, of the same uuid
+      return isUuidLayout(id) ? Optional.of(format(UUID.fromString(id))) : Optional.empty();
+    }
+    return decode(id, ANY_CASE_VALUES).map(GameIdCodec::format);
+  }
+
+  /** Hex digits in groups of 8-4-4-4-12. */
+  private static boolean isUuidLayout(final String id) {
+    for (int i = 0; i < id.length(); i++) {
+      final char c = id.charAt(i);
+      final boolean valid =
+          i == 8 || i == 13 || i == 18 || i == 23
+              ? c == '-'
+              : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+      if (!valid) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Optional<UUID> decode(final String id, final byte[] values) {
+    if (id.length() != LENGTH) {
+      return Optional.empty();
+    }
+    long high = 0;
+    long low = 0;
+    for (int i = 0; i < LENGTH; i++) {
+      final char c = id.charAt(i);
+      final int value = c < values.length ? values[c] : -1;
+      // 26 characters carry 130 bits, so the first one only holds the three highest bits
+      if (value < 0 || (i == 0 && value > 7)) {
+        return Optional.empty();
+      }
+      high = high << 5 | low >>> 59;
+      low = low << 5 | value;
+    }
+    return Optional.of(new UUID(high, low));
+  }
+}
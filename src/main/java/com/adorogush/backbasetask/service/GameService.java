@@ -15,47 +15,86 @@
 */
 package com.adorogush.backbasetask.service;
 
+import com.adorogush.backbasetask.exception.ConflictException;
 import com.adorogush.backbasetask.exception.NotFoundException;
 import com.adorogush.backbasetask.exception.ValidationException;
 import com.adorogush.backbasetask.model.Game;
 import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.GameChangedEvent;
+import com.adorogush.backbasetask.model.GameDeletedEvent;
+import com.adorogush.backbasetask.model.GameDelta;
 import com.adorogush.backbasetask.model.Player;
-import com.adorogush.backbasetask.repository.GameAndPitRepository;
-import java.util.ArrayList;
+import com.adorogush.backbasetask.repository.CachingGameAndPitRepository;
 import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /** A Service for CRUD Game operations. */
 @Service
 @Transactional
 public class GameService {
 
+  private static final Logger log = LogManager.getLogger();
+
   private final int numberOfPits;
   private final int numberOfStones;
-  private final GameAndPitRepository gameAndPitRepository;
+  private final int maxMoveAttempts;
+  private final int maxMovesPerRequest;
+  private final int maxGamesPerRequest;
+  private final CachingGameAndPitRepository gameAndPitRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
 
   public GameService(
       @Value("${numberOfPits}") final int numberOfPits,
       @Value("${numberOfStones}") final int numberOfStones,
-      final GameAndPitRepository gameAndPitRepository) {
+      @Value("${maxMoveAttempts}") final int maxMoveAttempts,
+      @Value("${maxMovesPerRequest}") final int maxMovesPerRequest,
+      @Value("${maxGamesPerRequest}") final int maxGamesPerRequest,
+      final CachingGameAndPitRepository gameAndPitRepository,
+      final TransactionTemplate transactionTemplate,
+      final ApplicationEventPublisher eventPublisher) {
     this.numberOfPits = numberOfPits;
     this.numberOfStones = numberOfStones;
+    this.maxMoveAttempts = maxMoveAttempts;
+    this.maxMovesPerRequest = maxMovesPerRequest;
+    this.maxGamesPerRequest = maxGamesPerRequest;
     this.gameAndPitRepository = gameAndPitRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
   }
 
   public GameAndPits createGame() {
-    final Game game = gameAndPitRepository.createEmptyGame();
-    final List<Integer> pits =
-        gameAndPitRepository.createInitialPits(game.id(), numberOfPits, numberOfStones);
-    return new GameAndPits(game, pits);
+    return gameAndPitRepository.createGame(numberOfPits, numberOfStones);
+  }
+
+  /** Creates {@code count} games in one transaction. */
+  public List<GameAndPits> createGames(final int count) {
+    if (count < 1 || count > maxGamesPerRequest) {
+      throw new ValidationException(
+          String.format("Number of games must be between 1 and %d.", maxGamesPerRequest));
+    }
+    return gameAndPitRepository.createGames(count, numberOfPits, numberOfStones);
   }
 
+  /**
+   * Reads run outside of any transaction: a cache hit touches no connection and a miss is a single
+   * auto-commit query.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public GameAndPits readGame(final String gameId) {
-    final Game game = gameAndPitRepository.readGame(gameId).orElseThrow(() -> gameNotFound(gameId));
-    final List<Integer> pits = gameAndPitRepository.readPits(gameId);
-    return new GameAndPits(game, pits);
+    return gameAndPitRepository.readGame(gameId).orElseThrow(() -> gameNotFound(gameId));
+  }
+
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+  public long readVersion(final String gameId) {
+    return gameAndPitRepository.readVersion(gameId).orElseThrow(() -> gameNotFound(gameId));
   }
 
   public void deleteGame(final String gameId) {
@@ -63,6 +102,7 @@ public class GameService {
     if (!deleted) {
       throw gameNotFound(gameId);
     }
+    eventPublisher.publishEvent(new GameDeletedEvent(gameId));
   }
 
   private static void validatePlayer(final Player nextPlayer, final Player initialPlayer) {
@@ -77,22 +117,114 @@ public class GameService {
     }
   }
 
+  /**
+   * Applies a move using optimistic concurrency control. Every attempt runs in its own transaction
+   * and re-validates the move against the latest state of the game. If the game keeps being
+   * modified concurrently for {@code maxMoveAttempts} attempts, {@link ConflictException} is
+   * thrown. With group commit an attempt runs outside of a transaction instead, so it holds no
+   * connection while its update waits to be committed by the writer.
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public GameAndPits makeMove(final String gameId, final int pitId) {
+    return makeMoveDelta(gameId, pitId).gameAndPits();
+  }
+
+  /** Applies a move like {@link #makeMove(String, int)} and tells which pits it changed. */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public GameDelta makeMoveDelta(final String gameId, final int pitId) {
     validatePitIdRange(pitId);
     validateIsNotKalah(pitId);
+    for (int attempt = 1; attempt <= maxMoveAttempts; attempt++) {
+      final GameDelta delta =
+          gameAndPitRepository.commitsInGroups()
+              ? tryMove(gameId, pitId)
+              : transactionTemplate.execute(status -> tryMove(gameId, pitId));
+      if (delta != null) {
+        eventPublisher.publishEvent(new GameChangedEvent(delta.gameAndPits()));
+        return delta;
+      }
+      log.debug("Game {} was concurrently modified, attempt {}", gameId, attempt);
+    }
+    throw new ConflictException(String.format("Game %s was concurrently modified.", gameId));
+  }
+
+  private GameDelta tryMove(final String gameId, final int pitId) {
     final GameAndPits gameAndPits = readGame(gameId);
     final Game game = gameAndPits.game();
     validateGameOver(game.gameOver());
     final Player player = getPitOwnerPlayer(pitId);
     validatePlayer(game.nextPlayer(), player);
-    final List<Integer> pits = new ArrayList<>(gameAndPits.pits());
+    final int[] pits = gameAndPits.pits().clone();
     final Move move = new Move(numberOfPits, pits, pitId);
     move.move();
-    gameAndPitRepository.updatePits(gameId, pits);
     final Player nextPlayer = move.isExtraMove() ? player : player.opponent();
     final boolean gameOver = move.isGameOver();
-    gameAndPitRepository.updateGame(gameId, nextPlayer, gameOver);
-    return new GameAndPits(new Game(gameId, nextPlayer, gameOver), pits);
+    final long version = game.version();
+    final GameAndPits updated =
+        new GameAndPits(new Game(gameId, nextPlayer, gameOver, version + 1), pits);
+    return gameAndPitRepository.updateGame(updated, version, pitId)
+        ? new GameDelta(gameAndPits.pits(), updated)
+        : null;
+  }
+
+  /**
+   * Applies a sequence of moves like {@link #makeMove(String, int)}, but reads the game once and
+   * writes only the final state. Either all moves are applied or none. The {@link
+   * ValidationException} of an invalid move names its index in {@code pitIds}.
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public GameAndPits makeMoves(final String gameId, final int[] pitIds) {
+    if (pitIds.length == 0 || pitIds.length > maxMovesPerRequest) {
+      throw new ValidationException(
+          String.format("Number of moves must be between 1 and %d.", maxMovesPerRequest));
+    }
+    for (int i = 0; i < pitIds.length; i++) {
+      try {
+        validatePitIdRange(pitIds[i]);
+        validateIsNotKalah(pitIds[i]);
+      } catch (final ValidationException e) {
+        throw invalidMove(i, e);
+      }
+    }
+    for (int attempt = 1; attempt <= maxMoveAttempts; attempt++) {
+      final GameAndPits updated = transactionTemplate.execute(status -> tryMoves(gameId, pitIds));
+      if (updated != null) {
+        eventPublisher.publishEvent(new GameChangedEvent(updated));
+        return updated;
+      }
+      log.debug("Game {} was concurrently modified, attempt {}", gameId, attempt);
+    }
+    throw new ConflictException(String.format("Game %s was concurrently modified.", gameId));
+  }
+
+  private GameAndPits tryMoves(final String gameId, final int[] pitIds) {
+    final GameAndPits gameAndPits = readGame(gameId);
+    final Game game = gameAndPits.game();
+    final int[] pits = gameAndPits.pits().clone();
+    Player nextPlayer = game.nextPlayer();
+    boolean gameOver = game.gameOver();
+    for (int i = 0; i < pitIds.length; i++) {
+      final int pitId = pitIds[i];
+      final Player player = getPitOwnerPlayer(pitId);
+      try {
+        validateGameOver(gameOver);
+        validatePlayer(nextPlayer, player);
+      } catch (final ValidationException e) {
+        throw invalidMove(i, e);
+      }
+      final Move move = new Move(numberOfPits, pits, pitId);
+      move.move();
+      nextPlayer = move.isExtraMove() ? player : player.opponent();
+      gameOver = move.isGameOver();
+    }
+    final long version = game.version();
+    final GameAndPits updated =
+        new GameAndPits(new Game(gameId, nextPlayer, gameOver, version + pitIds.length), pits);
+    return gameAndPitRepository.updateGame(updated, version, pitIds) ? updated : null;
+  }
+
+  private static ValidationException invalidMove(final int index, final ValidationException e) {
+    return new ValidationException(String.format("Move %d: %s", index, e.getReason()));
   }
 
   private static NotFoundException gameNotFound(final String id) {
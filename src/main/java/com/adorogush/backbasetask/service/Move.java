@@ -15,108 +15,121 @@
 */
 package com.adorogush.backbasetask.service;
 
-import com.adorogush.backbasetask.model.Player;
-import java.util.List;
-import java.util.stream.IntStream;
-
-/** Each instance of this class is designed to process exactly one move of Kalah game. */
+import java.util.Arrays;
+
+/**
+ * Each instance of this class is designed to process exactly one move of Kalah game. The move is
+ * applied in place to the given {@code pits} array and does not allocate.
+ *
+ * <p>Sowing is computed arithmetically from the {@link BoardGeometry} of the board: every full lap
+ * adds one stone to each pit the player sows into and only the remainder is distributed pit by pit,
+ * so the cost depends on the size of the board but not on the number of stones.
+ */
 public class Move {
 
-  private final int pitsPerPlayer;
-  private final List<Integer> pits;
+  private final BoardGeometry geometry;
+  private final int[] pits;
   private final int pitId;
-  private final int playerOneKalahId;
-  private final int playerTwoKalahId;
-  private final List<Integer> playerOnePits;
-  private final List<Integer> playerTwoPits;
+  // stones left in the pits of the moving player and of the opponent, kept up to date while sowing
+  private int ownStones;
+  private int opponentStones;
   private boolean extraMove;
   private boolean gameOver;
 
-  public Move(final int pitsPerPlayer, final List<Integer> pits, final int pitId) {
-    this.pitsPerPlayer = pitsPerPlayer;
+  public Move(final int pitsPerPlayer, final int[] pits, final int pitId) {
+    this(BoardGeometry.of(pitsPerPlayer), pits, pitId);
+  }
+
+  Move(final BoardGeometry geometry, final int[] pits, final int pitId) {
+    this.geometry = geometry;
     this.pits = pits;
     this.pitId = pitId;
-    playerOneKalahId = getKalahIdForPlayer(Player.ONE);
-    playerTwoKalahId = getKalahIdForPlayer(Player.TWO);
-    playerOnePits = pits.subList(0, playerOneKalahId);
-    playerTwoPits = pits.subList(playerOneKalahId + 1, playerTwoKalahId);
   }
 
   public void move() {
-    final Player initialPlayer = getPitOwnerPlayer(pitId);
-    int stones = pits.get(pitId);
+    final int stones = pits[pitId];
     if (stones <= 0) {
       return;
     }
-    pits.set(pitId, 0);
-    int currentPitId = pitId;
-    boolean isKalah = false;
-    boolean isMyPit = true;
-    while (stones > 0) {
-      currentPitId = nextPit(currentPitId);
-      isKalah = isKalah(currentPitId);
-      isMyPit = getPitOwnerPlayer(currentPitId) == initialPlayer;
-      if (!isKalah || isMyPit) {
-        add(currentPitId, 1);
-        stones--;
-      }
+    final int player = geometry.owners[pitId];
+    ownStones = sideStones(player) - stones;
+    opponentStones = sideStones(1 - player);
+    pits[pitId] = 0;
+    final int lastPitId = sow(player, stones);
+    extraMove = geometry.isKalah(lastPitId);
+    if (!extraMove && geometry.owners[lastPitId] == player && pits[lastPitId] == 1) {
+      capture(player, lastPitId);
     }
-    extraMove = isKalah;
-    if (!isKalah && isMyPit && pits.get(currentPitId) == 1) {
-      final int kalahId = getKalahIdForPlayer(initialPlayer);
-      final int oppositePitId = oppositePitId(currentPitId);
-      moveStones(currentPitId, kalahId);
-      moveStones(oppositePitId, kalahId);
+    if (player == 0) {
+      checkIfGameOver(ownStones, opponentStones);
+    } else {
+      checkIfGameOver(opponentStones, ownStones);
     }
-    checkIfGameOver();
   }
 
-  private Player getPitOwnerPlayer(final int pitId) {
-    if (pitId < pitsPerPlayer + 1) {
-      return Player.ONE;
+  /** Sows the stones taken from {@code pitId} and returns the pit that got the last one. */
+  private int sow(final int player, final int stones) {
+    final int[] sowingOrder = geometry.sowingOrders[player];
+    final int cycle = sowingOrder.length;
+    final int laps = stones / cycle;
+    final int remainder = stones % cycle;
+    if (laps > 0) {
+      for (final int sownPitId : sowingOrder) {
+        pits[sownPitId] += laps;
+      }
+      ownStones += laps * geometry.pitsPerPlayer;
+      opponentStones += laps * geometry.pitsPerPlayer;
     }
-    return Player.TWO;
-  }
-
-  private int nextPit(final int pitId) {
-    return (pitId + 1) % (pitsPerPlayer * 2 + 2);
+    final int start = geometry.sowingPositions[player][pitId];
+    for (int i = 1; i <= remainder; i++) {
+      final int sownPitId = sowingOrder[(start + i) % cycle];
+      pits[sownPitId]++;
+      if (geometry.isKalah(sownPitId)) {
+        continue;
+      }
+      if (geometry.owners[sownPitId] == player) {
+        ownStones++;
+      } else {
+        opponentStones++;
+      }
+    }
+    return sowingOrder[(start + remainder) % cycle];
   }
 
-  private boolean isKalah(final int pitId) {
-    return (pitId + 1) % (pitsPerPlayer + 1) == 0;
+  private void capture(final int player, final int lastPitId) {
+    final int kalahId = geometry.kalahIds[player];
+    final int oppositePitId = geometry.oppositePitIds[lastPitId];
+    ownStones -= pits[lastPitId];
+    opponentStones -= pits[oppositePitId];
+    moveStones(lastPitId, kalahId);
+    moveStones(oppositePitId, kalahId);
   }
 
-  private void add(final int index, final int add) {
-    pits.set(index, pits.get(index) + add);
+  /** Stones in the pits of the player, not counting the kalah. */
+  private int sideStones(final int player) {
+    final int kalahId = geometry.kalahIds[player];
+    int sum = 0;
+    for (int i = kalahId - geometry.pitsPerPlayer; i < kalahId; i++) {
+      sum += pits[i];
+    }
+    return sum;
   }
 
   private void moveStones(final int fromPitId, final int toPitId) {
-    add(toPitId, pits.get(fromPitId));
-    pits.set(fromPitId, 0);
-  }
-
-  private int oppositePitId(final int pitId) {
-    return pitsPerPlayer * 2 - pitId;
+    pits[toPitId] += pits[fromPitId];
+    pits[fromPitId] = 0;
   }
 
-  private int getKalahIdForPlayer(final Player player) {
-    if (player == Player.ONE) {
-      return pitsPerPlayer;
-    }
-    return pitsPerPlayer * 2 + 1;
-  }
-
-  private void checkIfGameOver() {
-    final int playerOneStonesLeft = playerOnePits.stream().mapToInt(v -> v).sum();
-    final int playerTwoStonesLeft = playerTwoPits.stream().mapToInt(v -> v).sum();
-
+  private void checkIfGameOver(final int playerOneStonesLeft, final int playerTwoStonesLeft) {
     gameOver = playerOneStonesLeft == 0 || playerTwoStonesLeft == 0;
     if (gameOver) {
-      IntStream.range(0, playerOnePits.size()).forEach(i -> playerOnePits.set(i, 0));
-      IntStream.range(0, playerTwoPits.size()).forEach(i -> playerTwoPits.set(i, 0));
+      final int playerOneKalahId = geometry.kalahIds[0];
+      final int playerTwoKalahId = geometry.kalahIds[1];
+      Arrays.fill(pits, 0, playerOneKalahId, 0);
+      Arrays.fill(pits, playerOneKalahId + 1, playerTwoKalahId, 0);
 
-      add(playerOneKalahId, playerOneStonesLeft);
-      add(playerTwoKalahId, playerTwoStonesLeft);
+      pits[playerOneKalahId] += playerOneStonesLeft;
+      pits[playerTwoKalahId] += playerTwoStonesLeft;
     }
   }
 
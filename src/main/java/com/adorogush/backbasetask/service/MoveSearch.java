@@ -0,0 +1,595 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import com.adorogush.backbasetask.model.Analysis;
+import com.adorogush.backbasetask.model.PitAnalysis;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.model.SearchResult;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chooses the best move for a player with alpha-beta search and iterative deepening: depth 1, 2,
+ * ... is searched until the time budget is spent, the maximum depth is reached or every line ends
+ * with the game over. The result is the best move of the last completed depth; the move found best
+ * by one depth is searched first by the next one. Moves are applied with {@link Move} to a stack of
+ * boards preallocated per task, so the search does not allocate per position.
+ *
+ * <p>Positions are scored for the player to move by the difference between the two kalahs. A
+ * finished game scores {@link #WIN} on top of its final difference, so a certain win is preferred
+ * over any estimate. A move that earns an extra move is searched first and keeps the player.
+ *
+ * <p>With a {@link TranspositionTable} every searched position is stored with its score and best
+ * move. A position found again, in the same search or a later one, is answered from the table if it
+ * was searched at least as deep, otherwise its best move is searched first. Positions whose every
+ * line reached the end of the game are stored as valid for any depth.
+ *
+ * <p>With an {@link EndgameTablebase} every position it contains, except the root, is scored
+ * exactly without searching further, and principal variations follow its best moves to the end of
+ * the game.
+ *
+ * <p>The search runs on its own {@link ForkJoinPool}. At the first {@value #PARALLEL_PLIES} plies
+ * the first move is searched alone to get a bound and the other moves are then searched in
+ * parallel, sharing the best bound found so far.
+ */
+public class MoveSearch {
+
+  /** Added to the final kalah difference of a finished game. */
+  public static final int WIN = 1000;
+
+  private static final int INFINITY = 1_000_000;
+  private static final int MAX_DEPTH = 100;
+  // stored depth of positions searched to the end of the game
+  private static final int SOLVED = 127;
+  private static final int PARALLEL_PLIES = 2;
+  // must be a power of two
+  private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+  private final ForkJoinPool pool;
+  private final TranspositionTable table;
+  private final EndgameTablebase tablebase;
+
+  /** @param parallelism the number of threads, all available processors if not positive */
+  public MoveSearch(final int parallelism) {
+    this(parallelism, null);
+  }
+
+  /**
+   * @param parallelism the number of threads, all available processors if not positive
+   * @param table shared by all searches, {@code null} for none
+   */
+  public MoveSearch(final int parallelism, final TranspositionTable table) {
+    this(parallelism, table, null);
+  }
+
+  /**
+   * @param parallelism the number of threads, all available processors if not positive
+   * @param table shared by all searches, {@code null} for none
+   * @param tablebase {@code null} for none
+   */
+  public MoveSearch(
+      final int parallelism, final TranspositionTable table, final EndgameTablebase tablebase) {
+    this.pool =
+        new ForkJoinPool(
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    this.table = table;
+    this.tablebase = tablebase;
+  }
+
+  public SearchResult search(final int[] pits, final Player player, final Duration timeBudget) {
+    return search(pits, player, timeBudget, MAX_DEPTH);
+  }
+
+  /**
+   * Searches the best move of {@code player}, who must have a move. The first depth is always
+   * completed, deeper ones only within {@code timeBudget}.
+   */
+  public SearchResult search(
+      final int[] pits, final Player player, final Duration timeBudget, final int maxDepth) {
+    final long start = System.nanoTime();
+    final long deadline = start + timeBudget.toNanos();
+    final BoardGeometry geometry = BoardGeometry.of(pits.length / 2 - 1);
+    final LongAdder nodes = new LongAdder();
+    if (table != null) {
+      table.newSearch();
+    }
+    int pitId = -1;
+    int score = 0;
+    int depth = 0;
+    boolean exact = false;
+    for (int iterationDepth = 1;
+        iterationDepth <= Math.min(maxDepth, MAX_DEPTH);
+        iterationDepth++) {
+      final Iteration iteration =
+          new Iteration(
+              geometry,
+              table,
+              tablebase,
+              iterationDepth,
+              iterationDepth > 1,
+              deadline,
+              pitId,
+              nodes);
+      final RootTask root = new RootTask(iteration, pits, player.index());
+      try {
+        pool.invoke(root);
+      } catch (final SearchTimeout e) {
+        break;
+      }
+      pitId = root.pitId;
+      score = root.score;
+      depth = iterationDepth;
+      exact = !root.depthLimited;
+      if (exact) {
+        break;
+      }
+    }
+    return new SearchResult(pitId, score, depth, exact, nodes.sum(), System.nanoTime() - start);
+  }
+
+  /**
+   * Scores every move of {@code player}, who must have a move, with iterative deepening like {@link
+   * #search(int[], Player, Duration)}. Every move is searched with a full window, so each score is
+   * exact for the depth reached rather than a bound. The principal variation of a move is read back
+   * from the transposition table as far as it still holds it, without a table it is the move alone.
+   */
+  public Analysis analyze(final int[] pits, final Player player, final Duration timeBudget) {
+    final long deadline = System.nanoTime() + timeBudget.toNanos();
+    final BoardGeometry geometry = BoardGeometry.of(pits.length / 2 - 1);
+    final LongAdder nodes = new LongAdder();
+    if (table != null) {
+      table.newSearch();
+    }
+    int[] scores = null;
+    int depth = 0;
+    boolean exact = false;
+    for (int iterationDepth = 1; iterationDepth <= MAX_DEPTH; iterationDepth++) {
+      final Iteration iteration =
+          new Iteration(
+              geometry, table, tablebase, iterationDepth, iterationDepth > 1, deadline, -1, nodes);
+      final AnalysisTask root = new AnalysisTask(iteration, pits, player.index());
+      try {
+        pool.invoke(root);
+      } catch (final SearchTimeout e) {
+        break;
+      }
+      scores = root.scores;
+      depth = iterationDepth;
+      exact = !root.depthLimited;
+      if (exact) {
+        break;
+      }
+    }
+    final List<PitAnalysis> analyses = new ArrayList<>(geometry.pitsPerPlayer);
+    final int kalahId = geometry.kalahIds[player.index()];
+    for (int pitId = kalahId - geometry.pitsPerPlayer; pitId < kalahId; pitId++) {
+      if (pits[pitId] > 0) {
+        analyses.add(
+            new PitAnalysis(
+                pitId,
+                scores[pitId],
+                principalVariation(geometry, pits, player.index(), pitId, depth)));
+      }
+    }
+    return new Analysis(player, analyses, depth, exact, nodes.sum());
+  }
+
+  /**
+   * The move followed by the best moves stored in the table, at most {@code depth} moves, and then
+   * by those of the tablebase to the end of the game once it contains the position.
+   */
+  private int[] principalVariation(
+      final BoardGeometry geometry,
+      final int[] pits,
+      final int player,
+      final int pitId,
+      final int depth) {
+    final int[] board = pits.clone();
+    final int[] line = new int[MAX_DEPTH];
+    int length = 0;
+    int movingPlayer = player;
+    int nextPitId = pitId;
+    while (true) {
+      line[length++] = nextPitId;
+      final Move move = new Move(geometry, board, nextPitId);
+      move.move();
+      if (move.isGameOver() || length == line.length) {
+        break;
+      }
+      if (!move.isExtraMove()) {
+        movingPlayer = 1 - movingPlayer;
+      }
+      if (tablebase != null && tablebase.contains(board)) {
+        nextPitId = tablebase.bestPitId(board, movingPlayer);
+        continue;
+      }
+      if (length >= depth || table == null) {
+        break;
+      }
+      final long entry = table.probe(TranspositionTable.hash(board, movingPlayer));
+      // the move of a lower bound refuted the other moves, that of an upper bound means nothing
+      if (entry == 0 || TranspositionTable.bound(entry) == TranspositionTable.UPPER) {
+        break;
+      }
+      nextPitId = TranspositionTable.pitId(entry);
+      if (!isLegal(geometry, board, movingPlayer, nextPitId)) {
+        break;
+      }
+    }
+    return Arrays.copyOf(line, length);
+  }
+
+  private static boolean isLegal(
+      final BoardGeometry geometry, final int[] pits, final int player, final int pitId) {
+    return pitId < pits.length
+        && geometry.owners[pitId] == player
+        && !geometry.isKalah(pitId)
+        && pits[pitId] > 0;
+  }
+
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+
+  /** The state shared by all tasks of one depth. */
+  private static final class Iteration {
+    private final BoardGeometry geometry;
+    private final TranspositionTable table;
+    private final EndgameTablebase tablebase;
+    private final int depth;
+    private final boolean timed;
+    private final long deadline;
+    private final int preferredPitId;
+    private final LongAdder nodes;
+
+    private Iteration(
+        final BoardGeometry geometry,
+        final TranspositionTable table,
+        final EndgameTablebase tablebase,
+        final int depth,
+        final boolean timed,
+        final long deadline,
+        final int preferredPitId,
+        final LongAdder nodes) {
+      this.geometry = geometry;
+      this.table = table;
+      this.tablebase = tablebase;
+      this.depth = depth;
+      this.timed = timed;
+      this.deadline = deadline;
+      this.preferredPitId = preferredPitId;
+      this.nodes = nodes;
+    }
+  }
+
+  /** Searches the root position and keeps the best move. */
+  private static final class RootTask extends RecursiveTask<Void> {
+    private final Iteration iteration;
+    private final int[] pits;
+    private final int player;
+    private int pitId;
+    private int score;
+    private boolean depthLimited;
+
+    private RootTask(final Iteration iteration, final int[] pits, final int player) {
+      this.iteration = iteration;
+      this.pits = pits;
+      this.player = player;
+    }
+
+    @Override
+    protected Void compute() {
+      final Searcher searcher = new Searcher(iteration);
+      try {
+        score = searcher.search(pits, player, iteration.depth, 0, -INFINITY, INFINITY);
+        pitId = searcher.bestRootPitId;
+        depthLimited = searcher.depthLimited;
+      } finally {
+        iteration.nodes.add(searcher.nodes);
+      }
+      return null;
+    }
+  }
+
+  /** Scores every move of the root position with a full window, in parallel. */
+  private static final class AnalysisTask extends RecursiveTask<Void> {
+    private final Iteration iteration;
+    private final int[] pits;
+    private final int player;
+    // by pit id
+    private final int[] scores;
+    private boolean depthLimited;
+
+    private AnalysisTask(final Iteration iteration, final int[] pits, final int player) {
+      this.iteration = iteration;
+      this.pits = pits;
+      this.player = player;
+      this.scores = new int[pits.length];
+    }
+
+    @Override
+    protected Void compute() {
+      final BoardGeometry geometry = iteration.geometry;
+      final int kalahId = geometry.kalahIds[player];
+      final List<MoveTask> tasks = new ArrayList<>(geometry.pitsPerPlayer);
+      for (int pitId = kalahId - geometry.pitsPerPlayer; pitId < kalahId; pitId++) {
+        if (pits[pitId] > 0) {
+          tasks.add(
+              new MoveTask(
+                  iteration,
+                  pits,
+                  player,
+                  pitId,
+                  iteration.depth,
+                  0,
+                  new AtomicInteger(-INFINITY),
+                  INFINITY));
+        }
+      }
+      ForkJoinTask.invokeAll(tasks);
+      for (final MoveTask task : tasks) {
+        scores[task.pitId] = task.join();
+        depthLimited |= task.depthLimited;
+      }
+      return null;
+    }
+  }
+
+  /** Scores one move of a node searched in parallel, with its own board stack. */
+  private static final class MoveTask extends RecursiveTask<Integer> {
+    private final Iteration iteration;
+    private final int[] pits;
+    private final int player;
+    private final int pitId;
+    private final int depth;
+    private final int ply;
+    private final AtomicInteger alpha;
+    private final int beta;
+    private boolean depthLimited;
+
+    private MoveTask(
+        final Iteration iteration,
+        final int[] pits,
+        final int player,
+        final int pitId,
+        final int depth,
+        final int ply,
+        final AtomicInteger alpha,
+        final int beta) {
+      this.iteration = iteration;
+      this.pits = pits;
+      this.player = player;
+      this.pitId = pitId;
+      this.depth = depth;
+      this.ply = ply;
+      this.alpha = alpha;
+      this.beta = beta;
+    }
+
+    @Override
+    protected Integer compute() {
+      final int currentAlpha = alpha.get();
+      if (currentAlpha >= beta) {
+        // a sibling has already refuted the parent
+        depthLimited = true;
+        return currentAlpha;
+      }
+      final Searcher searcher = new Searcher(iteration);
+      try {
+        final int score = searcher.scoreMove(pits, player, pitId, depth, ply, currentAlpha, beta);
+        depthLimited = searcher.depthLimited;
+        alpha.accumulateAndGet(score, Math::max);
+        return score;
+      } finally {
+        iteration.nodes.add(searcher.nodes);
+      }
+    }
+  }
+
+  /** Sequential alpha-beta search of one task, not thread safe. */
+  private static final class Searcher {
+    private final Iteration iteration;
+    private final BoardGeometry geometry;
+    private final TranspositionTable table;
+    private final EndgameTablebase tablebase;
+    // the boards after the move made at each ply and the ordered moves of each ply
+    private final int[][] boards;
+    private final int[][] moves;
+    private long nodes;
+    private int bestRootPitId = -1;
+    // set when a line of the current subtree was cut at the depth rather than by the game over
+    private boolean depthLimited;
+
+    private Searcher(final Iteration iteration) {
+      this.iteration = iteration;
+      this.geometry = iteration.geometry;
+      this.table = iteration.table;
+      this.tablebase = iteration.tablebase;
+      final int pitCount = geometry.pitsPerPlayer * 2 + 2;
+      this.boards = new int[iteration.depth + 1][pitCount];
+      this.moves = new int[iteration.depth + 1][geometry.pitsPerPlayer];
+    }
+
+    /** Fail-soft alpha-beta: the score of the position for {@code player}. */
+    private int search(
+        final int[] pits,
+        final int player,
+        final int depth,
+        final int ply,
+        final int alpha,
+        final int beta) {
+      if ((++nodes & (DEADLINE_CHECK_INTERVAL - 1)) == 0
+          && iteration.timed
+          && System.nanoTime() - iteration.deadline > 0) {
+        throw SearchTimeout.INSTANCE;
+      }
+      if (ply > 0 && tablebase != null && tablebase.contains(pits)) {
+        return finalScore(kalahDifference(pits, player) + tablebase.value(pits, player));
+      }
+      if (depth == 0) {
+        depthLimited = true;
+        return kalahDifference(pits, player);
+      }
+      int preferredPitId = ply == 0 ? iteration.preferredPitId : -1;
+      long hash = 0;
+      if (table != null) {
+        hash = TranspositionTable.hash(pits, player);
+        final long entry = table.probe(hash);
+        if (entry != 0) {
+          final int entryDepth = TranspositionTable.depth(entry);
+          final int entryScore = TranspositionTable.score(entry);
+          final int bound = TranspositionTable.bound(entry);
+          if (ply > 0
+              && entryDepth >= depth
+              && (bound == TranspositionTable.EXACT
+                  || bound == TranspositionTable.LOWER && entryScore >= beta
+                  || bound == TranspositionTable.UPPER && entryScore <= alpha)) {
+            depthLimited |= entryDepth != SOLVED;
+            return entryScore;
+          }
+          final int entryPitId = TranspositionTable.pitId(entry);
+          // checked, the entry may belong to another position with the same hash
+          if (preferredPitId < 0 && isLegal(geometry, pits, player, entryPitId)) {
+            preferredPitId = entryPitId;
+          }
+        }
+      }
+      final boolean outerDepthLimited = depthLimited;
+      depthLimited = false;
+      final int[] ordered = moves[ply];
+      final int count = orderMoves(pits, player, ordered, preferredPitId);
+      int best = scoreMove(pits, player, ordered[0], depth, ply, alpha, beta);
+      int bestPitId = ordered[0];
+      int currentAlpha = Math.max(alpha, best);
+      if (ply < PARALLEL_PLIES && count > 2 && currentAlpha < beta) {
+        final AtomicInteger sharedAlpha = new AtomicInteger(currentAlpha);
+        final MoveTask[] tasks = new MoveTask[count - 1];
+        for (int i = 1; i < count; i++) {
+          tasks[i - 1] =
+              new MoveTask(iteration, pits, player, ordered[i], depth, ply, sharedAlpha, beta);
+        }
+        ForkJoinTask.invokeAll(tasks);
+        for (final MoveTask task : tasks) {
+          final int score = task.join();
+          depthLimited |= task.depthLimited;
+          if (score > best) {
+            best = score;
+            bestPitId = task.pitId;
+          }
+        }
+      } else {
+        for (int i = 1; i < count && currentAlpha < beta; i++) {
+          final int score = scoreMove(pits, player, ordered[i], depth, ply, currentAlpha, beta);
+          if (score > best) {
+            best = score;
+            bestPitId = ordered[i];
+            currentAlpha = Math.max(currentAlpha, score);
+          }
+        }
+      }
+      if (ply == 0) {
+        bestRootPitId = bestPitId;
+      }
+      if (table != null) {
+        final int bound =
+            best <= alpha
+                ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        table.store(hash, best, depthLimited ? depth : SOLVED, bound, bestPitId);
+      }
+      depthLimited |= outerDepthLimited;
+      return best;
+    }
+
+    /** The score for {@code player} of the position after they sow {@code pitId}. */
+    private int scoreMove(
+        final int[] pits,
+        final int player,
+        final int pitId,
+        final int depth,
+        final int ply,
+        final int alpha,
+        final int beta) {
+      final int[] board = boards[ply];
+      System.arraycopy(pits, 0, board, 0, pits.length);
+      final Move move = new Move(geometry, board, pitId);
+      move.move();
+      if (move.isGameOver()) {
+        nodes++;
+        return finalScore(kalahDifference(board, player));
+      }
+      if (move.isExtraMove()) {
+        return search(board, player, depth - 1, ply + 1, alpha, beta);
+      }
+      return -search(board, 1 - player, depth - 1, ply + 1, -beta, -alpha);
+    }
+
+    /**
+     * Writes the pits {@code player} can sow to {@code ordered}: {@code preferredPitId} first, then
+     * the ones that end in the own kalah, then the others. Returns their number.
+     */
+    private int orderMoves(
+        final int[] pits, final int player, final int[] ordered, final int preferredPitId) {
+      final int kalahId = geometry.kalahIds[player];
+      final int cycle = geometry.sowingOrders[player].length;
+      final int kalahPosition = geometry.sowingPositions[player][kalahId];
+      int count = 0;
+      if (preferredPitId >= 0) {
+        ordered[count++] = preferredPitId;
+      }
+      for (int pass = 0; pass < 2; pass++) {
+        for (int pitId = kalahId - geometry.pitsPerPlayer; pitId < kalahId; pitId++) {
+          final int stones = pits[pitId];
+          if (stones == 0 || pitId == preferredPitId) {
+            continue;
+          }
+          final boolean endsInKalah =
+              stones % cycle == kalahPosition - geometry.sowingPositions[player][pitId];
+          if (endsInKalah == (pass == 0)) {
+            ordered[count++] = pitId;
+          }
+        }
+      }
+      return count;
+    }
+
+    private int kalahDifference(final int[] pits, final int player) {
+      return pits[geometry.kalahIds[player]] - pits[geometry.kalahIds[1 - player]];
+    }
+
+    /** The score of a game that ends with {@code difference}. */
+    private static int finalScore(final int difference) {
+      return difference > 0 ? WIN + difference : difference < 0 ? difference - WIN : 0;
+    }
+  }
+
+  /** Thrown to abandon an iteration once the deadline has passed. */
+  private static final class SearchTimeout extends RuntimeException {
+    private static final SearchTimeout INSTANCE = new SearchTimeout();
+
+    private SearchTimeout() {
+      super(null, null, false, false);
+    }
+  }
+}
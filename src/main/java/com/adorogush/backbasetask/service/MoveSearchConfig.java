@@ -0,0 +1,67 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The {@link MoveSearch} shared by server moves and analyses, on {@code moveSearch.parallelism}
+ * threads, and its {@link TranspositionTable} of {@code moveSearch.transpositionTableSize} entries.
+ * The probes, hits and size of the table are published as metrics. The {@link EndgameTablebase} in
+ * the file {@code moveSearch.endgameTablebase} is used if set.
+ */
+@Configuration
+public class MoveSearchConfig {
+
+  @Bean
+  public TranspositionTable transpositionTable(
+      @Value("${moveSearch.transpositionTableSize}") final int transpositionTableSize,
+      final MeterRegistry meterRegistry) {
+    final TranspositionTable table = new TranspositionTable(transpositionTableSize);
+    FunctionCounter.builder("games.ai.transpositions.probes", table, TranspositionTable::probes)
+        .register(meterRegistry);
+    FunctionCounter.builder("games.ai.transpositions.hits", table, TranspositionTable::hits)
+        .register(meterRegistry);
+    Gauge.builder(
+            "games.ai.transpositions.hitRatio",
+            table,
+            t -> t.probes() == 0 ? 0 : (double) t.hits() / t.probes())
+        .register(meterRegistry);
+    Gauge.builder("games.ai.transpositions.size", table, TranspositionTable::bytes)
+        .baseUnit(BaseUnits.BYTES)
+        .register(meterRegistry);
+    return table;
+  }
+
+  /** Shut down with the context. */
+  @Bean(destroyMethod = "shutdown")
+  public MoveSearch moveSearch(
+      @Value("${moveSearch.parallelism}") final int parallelism,
+      @Value("${moveSearch.endgameTablebase}") final String endgameTablebase,
+      final TranspositionTable table) {
+    return new MoveSearch(
+        parallelism,
+        table,
+        endgameTablebase.isEmpty() ? null : EndgameTablebase.open(Path.of(endgameTablebase)));
+  }
+}
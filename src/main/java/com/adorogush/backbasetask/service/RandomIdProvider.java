@@ -16,14 +16,18 @@
 package com.adorogush.backbasetask.service;
 
 import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-/** Basic implementation of {@link IdProvider}. Uses random {@link UUID}. */
+/**
+ * Basic implementation of {@link IdProvider}. Uses random {@link UUID}, see {@link GameIdCodec}.
+ */
 @Service
+@ConditionalOnProperty(name = "idProvider", havingValue = "random")
 public class RandomIdProvider implements IdProvider {
 
   @Override
   public String get() {
-    return UUID.randomUUID().toString();
+    return GameIdCodec.format(UUID.randomUUID());
   }
 }
@@ -0,0 +1,175 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import java.util.SplittableRandom;
+
+/**
+ * The built-in {@link SelfPlayPolicy} implementations, moving with {@link Move} on scratch boards.
+ */
+final class SelfPlayPolicies {
+
+  private SelfPlayPolicies() {}
+
+  static final class RandomPolicy implements SelfPlayPolicy {
+    private final BoardGeometry geometry;
+    private final SplittableRandom random;
+    // the pits with stones
+    private final int[] candidates;
+
+    RandomPolicy(final int pitsPerPlayer, final SplittableRandom random) {
+      this.geometry = BoardGeometry.of(pitsPerPlayer);
+      this.random = random;
+      this.candidates = new int[pitsPerPlayer];
+    }
+
+    @Override
+    public int pitId(final int[] pits, final int player) {
+      final int kalahId = geometry.kalahIds[player];
+      int count = 0;
+      for (int pitId = kalahId - geometry.pitsPerPlayer; pitId < kalahId; pitId++) {
+        candidates[count] = pitId;
+        count += pits[pitId] > 0 ? 1 : 0;
+      }
+      return candidates[random.nextInt(count)];
+    }
+  }
+
+  static final class GreedyPolicy implements SelfPlayPolicy {
+    private final BoardGeometry geometry;
+    private final SplittableRandom random;
+    private final int[] board;
+
+    GreedyPolicy(final int pitsPerPlayer, final SplittableRandom random) {
+      this.geometry = BoardGeometry.of(pitsPerPlayer);
+      this.random = random;
+      this.board = new int[pitsPerPlayer * 2 + 2];
+    }
+
+    @Override
+    public int pitId(final int[] pits, final int player) {
+      final int kalahId = geometry.kalahIds[player];
+      final int opponentKalahId = geometry.kalahIds[1 - player];
+      int best = Integer.MIN_VALUE;
+      int bestPitId = -1;
+      int ties = 0;
+      for (int pitId = kalahId - geometry.pitsPerPlayer; pitId < kalahId; pitId++) {
+        if (pits[pitId] == 0) {
+          continue;
+        }
+        System.arraycopy(pits, 0, board, 0, pits.length);
+        final Move move = new Move(geometry, board, pitId);
+        move.move();
+        final int gain =
+            board[kalahId] - pits[kalahId] - (board[opponentKalahId] - pits[opponentKalahId]);
+        final int score = gain * 2 + (move.isExtraMove() ? 1 : 0);
+        if (score > best) {
+          best = score;
+          bestPitId = pitId;
+          ties = 1;
+        } else if (score == best && random.nextInt(++ties) == 0) {
+          bestPitId = pitId;
+        }
+      }
+      return bestPitId;
+    }
+  }
+
+  /** Fixed-depth fail-soft alpha-beta on a preallocated stack of boards. */
+  static final class SearchPolicy implements SelfPlayPolicy {
+    private static final int INFINITY = 1_000_000;
+
+    private final BoardGeometry geometry;
+    private final SplittableRandom random;
+    private final int depth;
+    private final int[][] boards;
+
+    SearchPolicy(final int pitsPerPlayer, final SplittableRandom random, final int depth) {
+      if (depth < 1) {
+        throw new IllegalArgumentException("Search depth must be positive: " + depth);
+      }
+      this.geometry = BoardGeometry.of(pitsPerPlayer);
+      this.random = random;
+      this.depth = depth;
+      this.boards = new int[depth][pitsPerPlayer * 2 + 2];
+    }
+
+    /** The moves are tried from a random pit on, the first of equally good ones is kept. */
+    @Override
+    public int pitId(final int[] pits, final int player) {
+      final int pitsPerPlayer = geometry.pitsPerPlayer;
+      final int first = geometry.kalahIds[player] - pitsPerPlayer;
+      final int start = random.nextInt(pitsPerPlayer);
+      int best = Integer.MIN_VALUE;
+      int bestPitId = -1;
+      for (int i = 0; i < pitsPerPlayer; i++) {
+        final int pitId = first + (start + i) % pitsPerPlayer;
+        if (pits[pitId] == 0) {
+          continue;
+        }
+        final int score =
+            scoreMove(pits, player, pitId, depth, Math.max(best, -INFINITY), INFINITY);
+        if (score > best) {
+          best = score;
+          bestPitId = pitId;
+        }
+      }
+      return bestPitId;
+    }
+
+    private int search(
+        final int[] pits, final int player, final int depth, final int alpha, final int beta) {
+      if (depth == 0) {
+        return pits[geometry.kalahIds[player]] - pits[geometry.kalahIds[1 - player]];
+      }
+      final int kalahId = geometry.kalahIds[player];
+      int best = -INFINITY;
+      int currentAlpha = alpha;
+      for (int pitId = kalahId - geometry.pitsPerPlayer;
+          pitId < kalahId && currentAlpha < beta;
+          pitId++) {
+        if (pits[pitId] > 0) {
+          final int score = scoreMove(pits, player, pitId, depth, currentAlpha, beta);
+          best = Math.max(best, score);
+          currentAlpha = Math.max(currentAlpha, score);
+        }
+      }
+      return best;
+    }
+
+    private int scoreMove(
+        final int[] pits,
+        final int player,
+        final int pitId,
+        final int depth,
+        final int alpha,
+        final int beta) {
+      final int[] board = boards[this.depth - depth];
+      System.arraycopy(pits, 0, board, 0, pits.length);
+      final Move move = new Move(geometry, board, pitId);
+      move.move();
+      if (move.isGameOver()) {
+        final int difference =
+            board[geometry.kalahIds[player]] - board[geometry.kalahIds[1 - player]];
+        return Integer.signum(difference) * MoveSearch.WIN + difference;
+      }
+      if (move.isExtraMove()) {
+        return search(board, player, depth - 1, alpha, beta);
+      }
+      return -search(board, 1 - player, depth - 1, -beta, -alpha);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import java.util.SplittableRandom;
+
+/**
+ * Chooses the moves of a player in a {@link SelfPlaySimulation}. An instance is only used by one
+ * thread, so it may keep scratch boards; the built-in ones are created by {@link #random()}, {@link
+ * #greedy()} and {@link #search(int)}.
+ */
+public interface SelfPlayPolicy {
+
+  /** The pit {@code player} (0 or 1) sows, the player has a move. Must not modify {@code pits}. */
+  int pitId(int[] pits, int player);
+
+  /** Creates the policy of one thread with the random numbers of that thread. */
+  @FunctionalInterface
+  interface Factory {
+    SelfPlayPolicy create(int pitsPerPlayer, SplittableRandom random);
+  }
+
+  /** Any pit with stones, uniformly. */
+  static Factory random() {
+    return SelfPlayPolicies.RandomPolicy::new;
+  }
+
+  /**
+   * The pit that gains most stones over the opponent right away, preferring an extra move on equal
+   * gains; ties are broken at random.
+   */
+  static Factory greedy() {
+    return SelfPlayPolicies.GreedyPolicy::new;
+  }
+
+  /**
+   * The best pit by alpha-beta search over the kalah difference to {@code depth} moves, scored like
+   * {@link MoveSearch}; ties are broken at random.
+   */
+  static Factory search(final int depth) {
+    return (pitsPerPlayer, random) ->
+        new SelfPlayPolicies.SearchPolicy(pitsPerPlayer, random, depth);
+  }
+
+  /** {@code random}, {@code greedy}, {@code search} (to depth 4) or {@code search:<depth>}. */
+  static Factory of(final String name) {
+    if ("random".equals(name)) {
+      return random();
+    }
+    if ("greedy".equals(name)) {
+      return greedy();
+    }
+    if ("search".equals(name)) {
+      return search(4);
+    }
+    if (name.startsWith("search:")) {
+      return search(Integer.parseInt(name.substring("search:".length())));
+    }
+    throw new IllegalArgumentException("Unknown policy: " + name);
+  }
+}
@@ -0,0 +1,196 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Headless self-play for statistics over many games, without the application: games are played with
+ * {@link Move} on plain boards, player one moving first, each player choosing moves with its {@link
+ * SelfPlayPolicy}. Games are played in batches of {@value #BATCH_SIZE}, each on one thread with its
+ * own board, policies, random numbers split from the seed and {@link SelfPlayStatistics}; batches
+ * share no mutable state, so throughput grows with the threads. Finished batches are added to the
+ * running totals and the games themselves are not kept. The totals only depend on the seed, not on
+ * the number of threads.
+ *
+ * <p>Run with the number of pits per player, the stones per pit, the number of games and the
+ * policies of both players, see {@link SelfPlayPolicy#of(String)}, and optionally the seed and the
+ * number of threads. It prints the running totals every second and the extra moves per pit at the
+ * end.
+ */
+public class SelfPlaySimulation {
+
+  static final int BATCH_SIZE = 10_000;
+  private static final long REPORT_INTERVAL_NANOS = 1_000_000_000L;
+
+  private final int pitsPerPlayer;
+  private final int stonesPerPit;
+  private final SelfPlayPolicy.Factory playerOne;
+  private final SelfPlayPolicy.Factory playerTwo;
+
+  public SelfPlaySimulation(
+      final int pitsPerPlayer,
+      final int stonesPerPit,
+      final SelfPlayPolicy.Factory playerOne,
+      final SelfPlayPolicy.Factory playerTwo) {
+    this.pitsPerPlayer = pitsPerPlayer;
+    this.stonesPerPit = stonesPerPit;
+    this.playerOne = playerOne;
+    this.playerTwo = playerTwo;
+  }
+
+  public static void main(final String[] args) {
+    if (args.length < 5 || args.length > 7) {
+      System.err.println(
+          "Usage: SelfPlaySimulation <numberOfPits> <numberOfStones> <games>"
+              + " <policyOne> <policyTwo> [seed] [threads]");
+      System.exit(2);
+    }
+    final int pitsPerPlayer = Integer.parseInt(args[0]);
+    final SelfPlaySimulation simulation =
+        new SelfPlaySimulation(
+            pitsPerPlayer,
+            Integer.parseInt(args[1]),
+            SelfPlayPolicy.of(args[3]),
+            SelfPlayPolicy.of(args[4]));
+    final long start = System.nanoTime();
+    final long[] lastReport = {start};
+    final SelfPlayStatistics statistics =
+        simulation.run(
+            Long.parseLong(args[2]),
+            args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime(),
+            args.length > 6 ? Integer.parseInt(args[6]) : 0,
+            running -> {
+              final long now = System.nanoTime();
+              if (now - lastReport[0] >= REPORT_INTERVAL_NANOS) {
+                lastReport[0] = now;
+                System.out.println(summary(running, now - start));
+              }
+            });
+    System.out.println(summary(statistics, System.nanoTime() - start));
+    System.out.println("pit  moves  extra moves");
+    for (int pitId = 0; pitId < pitsPerPlayer * 2 + 1; pitId++) {
+      if (pitId != pitsPerPlayer) {
+        System.out.printf(
+            "%3d %12d %6.2f%%%n",
+            pitId + 1, statistics.pitMoves(pitId), statistics.extraMoveFrequency(pitId) * 100);
+      }
+    }
+  }
+
+  private static String summary(final SelfPlayStatistics statistics, final long elapsedNanos) {
+    return String.format(
+        "%d games, %.0f games/min, player one wins %.2f%%, player two wins %.2f%%, draws %.2f%%,"
+            + " first player advantage %.4f, score difference %.2f, %.1f moves per game",
+        statistics.games(),
+        statistics.games() * 60e9 / Math.max(1, elapsedNanos),
+        100.0 * statistics.playerOneWins() / statistics.games(),
+        100.0 * statistics.playerTwoWins() / statistics.games(),
+        100.0 * statistics.draws() / statistics.games(),
+        statistics.firstPlayerAdvantage(),
+        statistics.averageScoreDifference(),
+        statistics.averageLength());
+  }
+
+  /**
+   * Plays {@code games} games on {@code threads} threads, all available processors if not positive,
+   * and passes the running totals to {@code progress} on the calling thread after every batch.
+   */
+  public SelfPlayStatistics run(
+      final long games,
+      final long seed,
+      final int threads,
+      final Consumer<SelfPlayStatistics> progress) {
+    final AtomicInteger threadNumber = new AtomicInteger();
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+            r -> {
+              final Thread thread = new Thread(r, "self-play-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      final CompletionService<SelfPlayStatistics> batches =
+          new ExecutorCompletionService<>(executor);
+      final SplittableRandom random = new SplittableRandom(seed);
+      long batchCount = 0;
+      for (long first = 0; first < games; first += BATCH_SIZE) {
+        final int batchGames = (int) Math.min(BATCH_SIZE, games - first);
+        final SplittableRandom batchRandom = random.split();
+        batches.submit(() -> playBatch(batchGames, batchRandom));
+        batchCount++;
+      }
+      final SelfPlayStatistics total = new SelfPlayStatistics(pitsPerPlayer);
+      for (long i = 0; i < batchCount; i++) {
+        total.add(batches.take().get());
+        progress.accept(total);
+      }
+      return total;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Self-play interrupted", e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private SelfPlayStatistics playBatch(final int games, final SplittableRandom random) {
+    final BoardGeometry geometry = BoardGeometry.of(pitsPerPlayer);
+    final SelfPlayPolicy[] policies = {
+      playerOne.create(pitsPerPlayer, random.split()),
+      playerTwo.create(pitsPerPlayer, random.split())
+    };
+    final SelfPlayStatistics statistics = new SelfPlayStatistics(pitsPerPlayer);
+    final int[] start = new int[pitsPerPlayer * 2 + 2];
+    for (int pitId = 0; pitId < start.length; pitId++) {
+      start[pitId] = geometry.isKalah(pitId) ? 0 : stonesPerPit;
+    }
+    final int[] pits = new int[start.length];
+    for (int game = 0; game < games; game++) {
+      System.arraycopy(start, 0, pits, 0, start.length);
+      int player = 0;
+      int length = 0;
+      while (true) {
+        final int pitId = policies[player].pitId(pits, player);
+        final Move move = new Move(geometry, pits, pitId);
+        move.move();
+        statistics.recordMove(pitId, move.isExtraMove());
+        length++;
+        if (move.isGameOver()) {
+          break;
+        }
+        if (!move.isExtraMove()) {
+          player = 1 - player;
+        }
+      }
+      statistics.recordGame(length, pits[geometry.kalahIds[0]] - pits[geometry.kalahIds[1]]);
+    }
+    return statistics;
+  }
+}
@@ -0,0 +1,124 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+/**
+ * Totals of games played by a {@link SelfPlaySimulation}, where player one always moves first.
+ * Counts are kept per game and per pit rather than per move, so any number of games takes the same
+ * memory. Not thread safe: every batch of games has its own and they are added up by one thread.
+ */
+public class SelfPlayStatistics {
+
+  private final long[] pitMoves;
+  private final long[] extraMoves;
+  private long games;
+  private long playerOneWins;
+  private long playerTwoWins;
+  private long moves;
+  private long longestGame;
+  // player one's kalah minus player two's, summed over all games
+  private long scoreDifference;
+
+  public SelfPlayStatistics(final int pitsPerPlayer) {
+    this.pitMoves = new long[pitsPerPlayer * 2 + 2];
+    this.extraMoves = new long[pitsPerPlayer * 2 + 2];
+  }
+
+  void recordMove(final int pitId, final boolean extraMove) {
+    pitMoves[pitId]++;
+    extraMoves[pitId] += extraMove ? 1 : 0;
+  }
+
+  void recordGame(final int length, final int difference) {
+    games++;
+    moves += length;
+    longestGame = Math.max(longestGame, length);
+    scoreDifference += difference;
+    if (difference > 0) {
+      playerOneWins++;
+    } else if (difference < 0) {
+      playerTwoWins++;
+    }
+  }
+
+  /** Adds the games of {@code other}, which must be of the same board size. */
+  public void add(final SelfPlayStatistics other) {
+    for (int pitId = 0; pitId < pitMoves.length; pitId++) {
+      pitMoves[pitId] += other.pitMoves[pitId];
+      extraMoves[pitId] += other.extraMoves[pitId];
+    }
+    games += other.games;
+    playerOneWins += other.playerOneWins;
+    playerTwoWins += other.playerTwoWins;
+    moves += other.moves;
+    longestGame = Math.max(longestGame, other.longestGame);
+    scoreDifference += other.scoreDifference;
+  }
+
+  public long games() {
+    return games;
+  }
+
+  public long playerOneWins() {
+    return playerOneWins;
+  }
+
+  public long playerTwoWins() {
+    return playerTwoWins;
+  }
+
+  public long draws() {
+    return games - playerOneWins - playerTwoWins;
+  }
+
+  /** Wins of the first player minus wins of the second, as a share of all games. */
+  public double firstPlayerAdvantage() {
+    return games == 0 ? 0 : (double) (playerOneWins - playerTwoWins) / games;
+  }
+
+  /** The final kalah of the first player minus that of the second, on average. */
+  public double averageScoreDifference() {
+    return games == 0 ? 0 : (double) scoreDifference / games;
+  }
+
+  /** Moves of all games, extra moves included. */
+  public long moves() {
+    return moves;
+  }
+
+  public double averageLength() {
+    return games == 0 ? 0 : (double) moves / games;
+  }
+
+  public long longestGame() {
+    return longestGame;
+  }
+
+  /** Moves that sowed {@code pitId}, 0-based. */
+  public long pitMoves(final int pitId) {
+    return pitMoves[pitId];
+  }
+
+  /** Moves that sowed {@code pitId} and earned an extra move. */
+  public long extraMoves(final int pitId) {
+    return extraMoves[pitId];
+  }
+
+  /** The share of the moves of {@code pitId} that earned an extra move. */
+  public double extraMoveFrequency(final int pitId) {
+    return pitMoves[pitId] == 0 ? 0 : (double) extraMoves[pitId] / pitMoves[pitId];
+  }
+}
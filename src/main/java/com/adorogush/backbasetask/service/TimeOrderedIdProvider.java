@@ -0,0 +1,62 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link IdProvider} issuing version 7 {@link UUID}s: a millisecond timestamp followed by a 12 bit
+ * counter and 62 random bits. Ids issued by one instance are strictly increasing, so new games are
+ * appended to the end of the primary key index instead of being scattered over it. Rendered by
+ * {@link GameIdCodec}.
+ */
+@Service
+@ConditionalOnProperty(name = "idProvider", havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedIdProvider implements IdProvider {
+
+  private final Clock clock;
+  private final Random random = new SecureRandom();
+  // timestamp in milliseconds shifted left by 12 bits, plus the counter
+  private final AtomicLong lastTick = new AtomicLong();
+
+  public TimeOrderedIdProvider() {
+    this(Clock.systemUTC());
+  }
+
+  TimeOrderedIdProvider(final Clock clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public String get() {
+    return GameIdCodec.format(nextUuid());
+  }
+
+  UUID nextUuid() {
+    final long now = clock.millis() << 12;
+    // within one millisecond, or if the clock goes back, the counter keeps the ids increasing
+    final long tick = lastTick.updateAndGet(last -> Math.max(last + 1, now));
+    final long high = tick >>> 12 << 16 | 0x7000 | tick & 0xFFF;
+    final long low = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+    return new UUID(high, low);
+  }
+}
@@ -0,0 +1,164 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded table of search results by position, shared by all searches and games. A position is
+ * identified by its Zobrist hash: the XOR of one random key per pit and number of stones, and of a
+ * key for player two to move. Keys are derived with SplitMix64 from the pit and its stones, so
+ * boards of any size need no key table.
+ *
+ * <p>The table is two {@code long} arrays indexed by the low bits of the hash, in buckets of two
+ * slots. The first keeps the deepest entry of the current search generation, so results near the
+ * root survive the many shallow ones stored below them; the second takes every entry the first does
+ * not. Threads read and write without locks: the hash is stored XOR the data, so an entry torn by
+ * concurrent writes does not verify and reads as a miss.
+ */
+public class TranspositionTable {
+
+  /** The score is exact. */
+  public static final int EXACT = 0;
+  /** The score is a lower bound: the search failed high. */
+  public static final int LOWER = 1;
+  /** The score is an upper bound: the search failed low. */
+  public static final int UPPER = 2;
+
+  private static final long PLAYER_TWO_KEY = mix(-1L);
+  private static final long VALID = 1L << 63;
+
+  private final long[] hashes;
+  private final long[] data;
+  private final int mask;
+  private volatile int generation;
+  private final LongAdder probes = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+
+  /** @param entries the number of entries, rounded up to a power of two */
+  public TranspositionTable(final int entries) {
+    final int size = Integer.highestOneBit(Math.max(1, entries - 1)) << 1;
+    this.hashes = new long[size];
+    this.data = new long[size];
+    // the index of the first slot of a bucket
+    this.mask = size - 2;
+  }
+
+  /** Lets the entries of the next search replace the deep ones of earlier searches. */
+  public void newSearch() {
+    generation = (generation + 1) & 0x3F;
+  }
+
+  /** The hash of the board with {@code player} (0 or 1) to move. */
+  public static long hash(final int[] pits, final int player) {
+    long hash = player == 0 ? 0 : PLAYER_TWO_KEY;
+    for (int pitId = 0; pitId < pits.length; pitId++) {
+      hash ^= mix(((long) pitId << 32) | pits[pitId]);
+    }
+    return hash;
+  }
+
+  /** The entry of the position, {@code 0} if there is none. Read with the static accessors. */
+  public long probe(final long hash) {
+    probes.increment();
+    final int index = (int) hash & mask;
+    for (int slot = index; slot <= index + 1; slot++) {
+      final long entry = data[slot];
+      if ((hashes[slot] ^ entry) == hash && entry != 0) {
+        hits.increment();
+        return entry;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Stores a result of the position.
+   *
+   * @param depth the depth the position was searched to, up to 127
+   * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+   * @param pitId the best move found, up to 255
+   */
+  public void store(
+      final long hash, final int score, final int depth, final int bound, final int pitId) {
+    final int generation = this.generation;
+    final long entry =
+        VALID
+            | ((long) generation << 50)
+            | ((long) pitId << 42)
+            | ((long) bound << 40)
+            | ((long) depth << 32)
+            | (score & 0xFFFF_FFFFL);
+    final int index = (int) hash & mask;
+    final long deepest = data[index];
+    final int slot =
+        (hashes[index] ^ deepest) == hash
+                || depth >= depth(deepest)
+                || generation(deepest) != generation
+            ? index
+            : index + 1;
+    hashes[slot] = hash ^ entry;
+    data[slot] = entry;
+  }
+
+  public static int score(final long entry) {
+    return (int) entry;
+  }
+
+  public static int depth(final long entry) {
+    return (int) (entry >>> 32) & 0xFF;
+  }
+
+  public static int bound(final long entry) {
+    return (int) (entry >>> 40) & 0x3;
+  }
+
+  public static int pitId(final long entry) {
+    return (int) (entry >>> 42) & 0xFF;
+  }
+
+  private static int generation(final long entry) {
+    return (int) (entry >>> 50) & 0x3F;
+  }
+
+  /** Removes all entries; not safe while searches use the table. */
+  public void clear() {
+    Arrays.fill(hashes, 0);
+    Arrays.fill(data, 0);
+  }
+
+  public long probes() {
+    return probes.sum();
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  /** The memory taken by the entries. */
+  public long bytes() {
+    return (long) hashes.length * Long.BYTES * 2;
+  }
+
+  /** SplitMix64 finalizer. */
+  private static long mix(final long value) {
+    long z = value + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
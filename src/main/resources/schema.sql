@@ -1,14 +1,21 @@
-create table game
+create table if not exists game
 (
-    id varchar(36) not null primary key,
+    id uuid not null primary key,
     nextPlayer int null,
-    gameOver boolean not null
+    gameOver boolean not null,
+    pits varbinary(255) not null,
+    version bigint not null default 0
 );
-create table pit
+-- databases created before the pits column existed are upgraded by LegacyPitTableMigration
+alter table game add column if not exists pits varbinary(255) not null default X'';
+alter table game add column if not exists version bigint not null default 0;
+-- databases created before ids were stored as uuid are upgraded by LegacyIdColumnMigration
+create table if not exists move
 (
-    gameId varchar(36) not null,
+    gameId uuid not null,
+    seq bigint not null,
     pitId int not null,
-    size int not null,
-    primary key(gameId, pitId),
+    player int not null,
+    primary key(gameId, seq),
     foreign key (gameId) references game(id) on delete cascade
 );
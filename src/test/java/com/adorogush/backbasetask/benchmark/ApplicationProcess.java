@@ -0,0 +1,128 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.Application;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The whole application in its own JVM, for benchmarks that need more connections than the open
+ * files limit of a single process allows for client and server together.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Path javaHome;
+  private final Process process;
+  private final String rootUri;
+
+  ApplicationProcess(final String... args) throws IOException, InterruptedException {
+    final int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    javaHome = Path.of(System.getProperty("java.home"));
+    final List<String> command = new ArrayList<>();
+    command.add(javaHome.resolve("bin").resolve("java").toString());
+    command.add("-Xmx2g");
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(Application.class.getName());
+    command.add("--server.port=" + port);
+    command.add("--spring.main.banner-mode=off");
+    command.add("--spring.profiles.active=prod");
+    command.add("--logging.level.root=warn");
+    command.addAll(List.of(args));
+    process = new ProcessBuilder(command).inheritIO().start();
+    rootUri = "http://localhost:" + port;
+    awaitStarted();
+  }
+
+  private void awaitStarted() throws IOException, InterruptedException {
+    final HttpRequest health =
+        HttpRequest.newBuilder(URI.create(rootUri + "/actuator/health")).build();
+    while (true) {
+      if (!process.isAlive()) {
+        throw new IllegalStateException("The application exited with " + process.exitValue());
+      }
+      try {
+        if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+          return;
+        }
+      } catch (final ConnectException e) {
+        // not listening yet
+      }
+      Thread.sleep(100);
+    }
+  }
+
+  /** The absolute URI of a path relative to {@code /games}, with the given scheme. */
+  URI uri(final String scheme, final String path) {
+    return URI.create(scheme + rootUri.substring(4) + "/games" + path);
+  }
+
+  /** Creates a game and returns its id. */
+  String createGame() throws IOException, InterruptedException {
+    final HttpResponse<String> response =
+        client.send(
+            HttpRequest.newBuilder(uri("http", ""))
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+    return objectMapper.readTree(response.body()).get("id").asText();
+  }
+
+  /** The value of a metric of {@code /actuator/metrics}, e.g. {@code jvm.threads.live}. */
+  double metric(final String nameAndTags) throws IOException, InterruptedException {
+    final HttpResponse<String> response =
+        client.send(
+            HttpRequest.newBuilder(URI.create(rootUri + "/actuator/metrics/" + nameAndTags))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+    final JsonNode metric = objectMapper.readTree(response.body());
+    return metric.get("measurements").get(0).get("value").asDouble();
+  }
+
+  /** Runs a full garbage collection, so that the used heap is the live heap. */
+  void gc() throws IOException, InterruptedException {
+    new ProcessBuilder(
+            javaHome.resolve("bin").resolve("jcmd").toString(),
+            String.valueOf(process.pid()),
+            "GC.run")
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .start()
+        .waitFor();
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    process.destroy();
+    process.waitFor();
+  }
+}
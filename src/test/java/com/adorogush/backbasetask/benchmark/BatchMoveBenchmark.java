@@ -0,0 +1,88 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost per move of a whole game played through the running application, with one {@code PUT
+ * /games/{gameId}/pits/{pitId}} per move ({@code singleMoves}) and with a single {@code PUT
+ * /games/{gameId}/pits} ({@code batchMoves}). Includes HTTP and JSON handling on both sides.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchMoveBenchmark {
+
+  /** The moves of a game that player one wins by 42 to 30, 1-based pit ids. */
+  private static final int[] GAME = {1, 3, 8, 4, 9, 3, 8, 1, 12, 4, 3, 13, 4, 8};
+
+  private static final String GAME_JSON =
+      Arrays.stream(GAME).mapToObj(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+
+  private RunningApplication application;
+  private String gameId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    application = new RunningApplication();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    application.close();
+  }
+
+  @Setup(Level.Invocation)
+  public void createGame() throws IOException, InterruptedException {
+    gameId = application.createGame();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(14)
+  public int singleMoves() throws IOException, InterruptedException {
+    int length = 0;
+    for (final int pitId : GAME) {
+      length += application.send("/" + gameId + "/pits/" + pitId, "PUT", null).body().length();
+    }
+    return length;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(14)
+  public int batchMoves() throws IOException, InterruptedException {
+    return application.send("/" + gameId + "/pits", "PUT", GAME_JSON).body().length();
+  }
+}
@@ -0,0 +1,35 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Player;
+
+/** Helpers for benchmarks that play real games. */
+final class Boards {
+
+  private Boards() {}
+
+  /** A legal move of {@code player}, who starts if {@code null}. */
+  static int firstNonEmptyPit(final int[] pits, final Player player) {
+    final int first = player == Player.TWO ? pits.length / 2 : 0;
+    for (int pitId = first; pitId < first + pits.length / 2 - 1; pitId++) {
+      if (pits[pitId] > 0) {
+        return pitId;
+      }
+    }
+    throw new IllegalStateException("No stones left for " + player);
+  }
+}
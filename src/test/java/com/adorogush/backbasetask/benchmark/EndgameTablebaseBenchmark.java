@@ -0,0 +1,104 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.model.SearchResult;
+import com.adorogush.backbasetask.service.EndgameTablebase;
+import com.adorogush.backbasetask.service.EndgameTablebaseGenerator;
+import com.adorogush.backbasetask.service.MoveSearch;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link EndgameTablebase} of the standard board up to 12 stones, memory-mapped from a file
+ * generated once per trial. {@code lookup} reads the value of one of 1024 random positions and does
+ * not depend on {@code tablebase}. {@code solve} searches a position with 12 stones left to the end
+ * of the game, without the tablebase ({@code none}) and with it ({@code mapped}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndgameTablebaseBenchmark {
+
+  private static final int MAX_STONES = 12;
+  private static final Duration NO_LIMIT = Duration.ofHours(1);
+  private static final int[] ENDGAME = {0, 1, 2, 0, 1, 3, 30, 2, 0, 1, 0, 2, 0, 30};
+
+  @Param({"none", "mapped"})
+  private String tablebase;
+
+  private EndgameTablebase mapped;
+  private MoveSearch moveSearch;
+  private int[][] positions;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    final Path path = Path.of("target", "endgame-benchmark.tablebase");
+    EndgameTablebaseGenerator.generate(6, MAX_STONES, path);
+    mapped = EndgameTablebase.open(path);
+    moveSearch = new MoveSearch(1, null, "mapped".equals(tablebase) ? mapped : null);
+    final Random random = new Random(42);
+    positions = new int[1024][];
+    for (int i = 0; i < positions.length; i++) {
+      final int[] pits = new int[14];
+      final int stones = 1 + random.nextInt(MAX_STONES);
+      for (int stone = 0; stone < stones; stone++) {
+        pits[random.nextInt(6) + 7 * random.nextInt(2)]++;
+      }
+      pits[6] = random.nextInt(36);
+      pits[13] = 72 - stones - pits[6];
+      positions[i] = pits;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    moveSearch.shutdown();
+  }
+
+  @Benchmark
+  public int lookup() {
+    final int[] pits = positions[next++ & (positions.length - 1)];
+    return mapped.value(pits, next & 1);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public SearchResult solve() {
+    return moveSearch.search(ENDGAME, Player.ONE, NO_LIMIT);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.repository.GameAndPitRepository;
+import com.adorogush.backbasetask.service.TimeOrderedIdProvider;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * Every {@link GameAndPitRepository} operation against an in-memory H2 database holding {@code
+ * GAMES} games. A game can only be deleted once, so deletion is measured together with the creation
+ * of the game it deletes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameAndPitRepositoryBenchmark {
+
+  private static final int GAMES = 10_000;
+
+  private JdbcTemplate jdbcTemplate;
+  private GameAndPitRepository repository;
+  private GameAndPits[] games;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    final SingleConnectionDataSource dataSource =
+        new SingleConnectionDataSource("jdbc:h2:mem:repository-benchmark", true);
+    try (Connection connection = dataSource.getConnection()) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+    }
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    repository = new GameAndPitRepository(new TimeOrderedIdProvider(), jdbcTemplate);
+    games = new GameAndPits[GAMES];
+    for (int i = 0; i < GAMES; i++) {
+      final GameAndPits created = repository.createGame(6, 6);
+      final Game game = created.game();
+      // version 0 marks games added by createGame()
+      games[i] = new GameAndPits(new Game(game.id(), Player.ONE, false, 1), created.pits());
+      repository.writeGame(games[i]);
+    }
+  }
+
+  /** Keeps the number of games constant, whatever {@link #createGame()} added. */
+  @TearDown(Level.Iteration)
+  public void deleteCreatedGames() {
+    jdbcTemplate.update("delete from game where version = 0");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    jdbcTemplate.execute("shutdown");
+  }
+
+  @Benchmark
+  public GameAndPits createGame() {
+    return repository.createGame(6, 6);
+  }
+
+  @Benchmark
+  public GameAndPits readGame() {
+    return repository.readGame(nextGame().game().id()).orElseThrow();
+  }
+
+  @Benchmark
+  public boolean updateGame() {
+    final int index = nextIndex();
+    final Game game = games[index].game();
+    final GameAndPits updated =
+        new GameAndPits(
+            new Game(game.id(), Player.TWO, false, game.version() + 1), games[index].pits());
+    games[index] = updated;
+    return repository.updateGame(updated, game.version(), 0);
+  }
+
+  @Benchmark
+  public void writeGame() {
+    final int index = nextIndex();
+    final Game game = games[index].game();
+    games[index] =
+        new GameAndPits(
+            new Game(game.id(), Player.TWO, false, game.version() + 1), games[index].pits());
+    repository.writeGame(games[index]);
+  }
+
+  @Benchmark
+  public boolean createAndDeleteGame() {
+    return repository.deleteGame(repository.createGame(6, 6).game().id());
+  }
+
+  private GameAndPits nextGame() {
+    return games[nextIndex()];
+  }
+
+  private int nextIndex() {
+    next = (next + 1) % GAMES;
+    return next;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.service.GameService;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load test of {@code GET /games/{gameId}/events}: {@code subscribers} idle server-sent event
+ * subscriptions to one game, each on its own connection. Measures the time from a move until every
+ * subscriber has received the new state, and prints the number of live threads and the heap used
+ * per subscription (client and server side together) once all are connected.
+ *
+ * <p>Client and server share one process, so {@code subscribers} is limited by about half of the
+ * open files limit ({@code ulimit -n}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class GameEventsBenchmark {
+
+  private static final int CONNECT_BATCH = 500;
+
+  @Param({"1000", "9000"})
+  private int subscribers;
+
+  private final Semaphore received = new Semaphore(0);
+  private RunningApplication application;
+  private ExecutorService clientExecutor;
+  private HttpClient client;
+  private GameService gameService;
+  private GameAndPits game;
+
+  @Setup(Level.Trial)
+  public void setUp() throws InterruptedException {
+    // enough stones for the game not to end during the run
+    application = new RunningApplication("--numberOfStones=1000");
+    gameService = application.bean(GameService.class);
+    clientExecutor = Executors.newFixedThreadPool(2);
+    client = HttpClient.newBuilder().executor(clientExecutor).build();
+    game = gameService.createGame();
+    final HttpRequest request =
+        HttpRequest.newBuilder(application.uri("/" + game.game().id() + "/events"))
+            .header("Accept", "text/event-stream")
+            .build();
+    final int threadsBefore = Thread.activeCount();
+    final long heapBefore = usedHeap();
+    for (int connected = 0; connected < subscribers; connected += CONNECT_BATCH) {
+      final int batch = Math.min(CONNECT_BATCH, subscribers - connected);
+      for (int i = 0; i < batch; i++) {
+        client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new EventCounter()));
+      }
+      // the current state is sent right after subscribing
+      if (!received.tryAcquire(batch, 1, TimeUnit.MINUTES)) {
+        throw new IllegalStateException("Subscribers did not connect in time");
+      }
+    }
+    System.out.printf(
+        "%d subscribers: threads %d -> %d, heap per subscription %d bytes%n",
+        subscribers, threadsBefore, Thread.activeCount(), (usedHeap() - heapBefore) / subscribers);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    application.close();
+    clientExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public long moveAndDeliverToAll() throws InterruptedException {
+    final Game current = game.game();
+    final int pitId = Boards.firstNonEmptyPit(game.pits(), current.nextPlayer());
+    game = gameService.makeMove(current.id(), pitId);
+    if (game.game().gameOver()) {
+      throw new IllegalStateException("Game is over, use more stones");
+    }
+    received.acquire(subscribers);
+    return game.game().version();
+  }
+
+  private static long usedHeap() throws InterruptedException {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    final Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  /** Releases one permit per received event. */
+  private final class EventCounter implements Flow.Subscriber<String> {
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(final String line) {
+      if (line.startsWith("id:")) {
+        received.release();
+      }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {}
+
+    @Override
+    public void onComplete() {}
+  }
+}
@@ -0,0 +1,138 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.service.GameIdCodec;
+import com.adorogush.backbasetask.service.TimeOrderedIdProvider;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * Inserts {@code games} games into a file based H2 database with the legacy random {@code
+ * varchar(36)} ids, random {@code uuid} ids and the ids of {@link TimeOrderedIdProvider}. The
+ * primary score is the time to insert all of them, the {@code bytesPerGame} counter the space the
+ * {@code game} table and its primary key index take per game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Timeout(time = 2, timeUnit = TimeUnit.HOURS)
+@Fork(1)
+public class GameIdBenchmark {
+
+  private static final int BATCH_SIZE = 10_000;
+  private static final byte[] PITS = new byte[28];
+
+  @Param({"random-varchar", "random-uuid", "time-ordered-uuid"})
+  private String idType;
+
+  @Param({"10000000"})
+  private int games;
+
+  private SingleConnectionDataSource dataSource;
+  private Connection connection;
+  private TimeOrderedIdProvider idProvider;
+
+  /** Size of the {@code game} table including its indexes. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Counters {
+    public long bytesPerGame;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    dataSource = new SingleConnectionDataSource("jdbc:h2:file:./target/game-id-benchmark", true);
+    connection = dataSource.getConnection();
+    final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    // left over by an interrupted run
+    jdbcTemplate.execute("drop all objects");
+    if ("random-varchar".equals(idType)) {
+      jdbcTemplate.execute(
+          "create table game (id varchar(36) not null primary key, nextPlayer int null,"
+              + " gameOver boolean not null, pits varbinary(255) not null,"
+              + " version bigint not null default 0)");
+    } else {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+    }
+    connection.setAutoCommit(false);
+    idProvider = new TimeOrderedIdProvider();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    connection.setAutoCommit(true);
+    new JdbcTemplate(dataSource).execute("drop all objects delete files");
+    dataSource.destroy();
+  }
+
+  @Benchmark
+  public long insertGames(final Counters counters) throws SQLException {
+    try (PreparedStatement insert =
+        connection.prepareStatement(
+            "insert into game (id, nextPlayer, gameOver, pits, version)"
+                + " values (?, null, false, ?, 0)")) {
+      for (int i = 0; i < games; i++) {
+        insert.setObject(1, nextId());
+        insert.setBytes(2, PITS);
+        insert.addBatch();
+        if ((i + 1) % BATCH_SIZE == 0 || i == games - 1) {
+          insert.executeBatch();
+          connection.commit();
+        }
+      }
+    }
+    final long bytes =
+        new JdbcTemplate(dataSource).queryForObject("select disk_space_used('GAME')", Long.class);
+    counters.bytesPerGame = bytes / games;
+    return bytes;
+  }
+
+  private Object nextId() {
+    switch (idType) {
+      case "random-varchar":
+        return UUID.randomUUID().toString();
+      case "random-uuid":
+        return UUID.randomUUID();
+      default:
+        return GameIdCodec.parse(idProvider.get()).orElseThrow();
+    }
+  }
+}
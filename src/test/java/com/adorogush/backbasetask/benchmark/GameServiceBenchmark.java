@@ -0,0 +1,114 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.repository.CachingGameAndPitRepository;
+import com.adorogush.backbasetask.repository.CachingGameAndPitRepository.WriteMode;
+import com.adorogush.backbasetask.repository.GameAndPitRepository;
+import com.adorogush.backbasetask.repository.GroupCommitGameWriter;
+import com.adorogush.backbasetask.service.GameService;
+import com.adorogush.backbasetask.service.TimeOrderedIdProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link GameService#makeMove(String, int)} wired as in the application against an in-memory H2
+ * database, with the game cache ({@code gameCacheSize} 10000) and without it (0). Every operation
+ * makes a legal move, a new game is started when one is over.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+
+  @Param({"0", "10000"})
+  private long gameCacheSize;
+
+  private JdbcTemplate jdbcTemplate;
+  private CachingGameAndPitRepository cachingRepository;
+  private GameService gameService;
+  private GameAndPits game;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    final SingleConnectionDataSource dataSource =
+        new SingleConnectionDataSource("jdbc:h2:mem:game-service-benchmark", true);
+    try (Connection connection = dataSource.getConnection()) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+    }
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    final TransactionTemplate transactionTemplate =
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    final GameAndPitRepository repository =
+        new GameAndPitRepository(new TimeOrderedIdProvider(), jdbcTemplate);
+    cachingRepository =
+        new CachingGameAndPitRepository(
+            repository,
+            new GroupCommitGameWriter(repository, transactionTemplate, false, Duration.ZERO, 1),
+            gameCacheSize,
+            Duration.ofMinutes(10),
+            WriteMode.WRITE_THROUGH,
+            Duration.ofSeconds(1),
+            new SimpleMeterRegistry());
+    gameService =
+        new GameService(6, 6, 3, 1000, 10000, cachingRepository, transactionTemplate, event -> {});
+    game = gameService.createGame();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cachingRepository.shutdown();
+    jdbcTemplate.execute("shutdown");
+  }
+
+  @Benchmark
+  public GameAndPits makeMove() {
+    final Game current = game.game();
+    final int pitId = Boards.firstNonEmptyPit(game.pits(), current.nextPlayer());
+    game = gameService.makeMove(current.id(), pitId);
+    if (game.game().gameOver()) {
+      game = gameService.createGame();
+    }
+    return game;
+  }
+}
@@ -0,0 +1,126 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.repository.GameAndPitRepository;
+import com.adorogush.backbasetask.repository.GameStore;
+import com.adorogush.backbasetask.repository.MappedFileGameStore;
+import com.adorogush.backbasetask.service.IdProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * Cost of reading a game and storing a move with each {@link GameStore}: {@link
+ * GameAndPitRepository} on an in-memory and on a file based H2 database against {@link
+ * MappedFileGameStore}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameStoreBenchmark {
+
+  private static final int GAMES = 1000;
+
+  @Param({"h2-mem", "h2-file", "mapped-file"})
+  private String store;
+
+  private GameStore gameStore;
+  private JdbcTemplate jdbcTemplate;
+  private Path file;
+  private String[] gameIds;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException, IOException {
+    final IdProvider idProvider = () -> UUID.randomUUID().toString();
+    if ("mapped-file".equals(store)) {
+      file = Files.createTempFile("game-store-benchmark", ".store");
+      gameStore = new MappedFileGameStore(idProvider, 6, file, GAMES);
+    } else {
+      final String url =
+          "h2-mem".equals(store)
+              ? "jdbc:h2:mem:game-store-benchmark;DB_CLOSE_DELAY=-1"
+              : "jdbc:h2:file:./target/game-store-benchmark";
+      jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(url, true));
+      try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+      }
+      gameStore = new GameAndPitRepository(idProvider, jdbcTemplate);
+    }
+    gameIds = new String[GAMES];
+    for (int i = 0; i < GAMES; i++) {
+      gameIds[i] = gameStore.createGame(6, 6).game().id();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    if (file != null) {
+      ((MappedFileGameStore) gameStore).close();
+      Files.delete(file);
+    } else {
+      jdbcTemplate.execute("drop all objects delete files");
+    }
+  }
+
+  @Benchmark
+  public GameAndPits readGame() {
+    return gameStore.readGame(nextGameId()).orElseThrow();
+  }
+
+  @Benchmark
+  public boolean readAndUpdateGame() {
+    final GameAndPits found = gameStore.readGame(nextGameId()).orElseThrow();
+    final Game game = found.game();
+    return gameStore.updateGame(
+        new GameAndPits(new Game(game.id(), Player.ONE, false, game.version() + 1), found.pits()),
+        game.version(),
+        0);
+  }
+
+  private String nextGameId() {
+    next = (next + 1) % GAMES;
+    return gameIds[next];
+  }
+}
@@ -0,0 +1,159 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.repository.CachingGameAndPitRepository;
+import com.adorogush.backbasetask.repository.CachingGameAndPitRepository.WriteMode;
+import com.adorogush.backbasetask.repository.GameAndPitRepository;
+import com.adorogush.backbasetask.repository.GroupCommitGameWriter;
+import com.adorogush.backbasetask.service.GameService;
+import com.adorogush.backbasetask.service.TimeOrderedIdProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Move throughput of {@link GameService#makeMove} with a commit per move ({@code off}) against
+ * {@link GroupCommitGameWriter} with the given {@code maxDelay} in milliseconds, with 1, 16 and 256
+ * concurrent clients each playing their own game. Like the application it uses a pool of 10
+ * connections, fewer than the clients, and a file based H2 database so that commits are not free.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupCommitBenchmark {
+
+  /** Database and write path shared by all clients. */
+  @State(Scope.Benchmark)
+  public static class Storage {
+
+    @Param({"off", "0", "2"})
+    private String groupCommitMaxDelayMillis;
+
+    private HikariDataSource dataSource;
+    private GroupCommitGameWriter writer;
+    private CachingGameAndPitRepository cachingRepository;
+    private GameService gameService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+      dataSource = new HikariDataSource();
+      dataSource.setJdbcUrl("jdbc:h2:file:./target/group-commit-benchmark");
+      try (Connection connection = dataSource.getConnection()) {
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+      }
+      final TransactionTemplate transactionTemplate =
+          new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+      final GameAndPitRepository repository =
+          new GameAndPitRepository(new TimeOrderedIdProvider(), new JdbcTemplate(dataSource));
+      writer =
+          new GroupCommitGameWriter(
+              repository,
+              transactionTemplate,
+              !"off".equals(groupCommitMaxDelayMillis),
+              Duration.ofMillis(
+                  "off".equals(groupCommitMaxDelayMillis)
+                      ? 0
+                      : Long.parseLong(groupCommitMaxDelayMillis)),
+              64);
+      cachingRepository =
+          new CachingGameAndPitRepository(
+              repository,
+              writer,
+              10000,
+              Duration.ofMinutes(10),
+              WriteMode.WRITE_THROUGH,
+              Duration.ofSeconds(1),
+              new SimpleMeterRegistry());
+      gameService =
+          new GameService(
+              6, 6, 3, 1000, 10000, cachingRepository, transactionTemplate, event -> {});
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+      cachingRepository.shutdown();
+      writer.shutdown();
+      new JdbcTemplate(dataSource).execute("drop all objects delete files");
+      dataSource.close();
+    }
+  }
+
+  /** The game of one client. */
+  @State(Scope.Thread)
+  public static class Client {
+    private GameAndPits game;
+
+    @Setup(Level.Trial)
+    public void setUp(final Storage storage) {
+      game = storage.gameService.createGame();
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public GameAndPits clients1(final Storage storage, final Client client) {
+    return move(storage, client);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public GameAndPits clients16(final Storage storage, final Client client) {
+    return move(storage, client);
+  }
+
+  @Benchmark
+  @Threads(256)
+  public GameAndPits clients256(final Storage storage, final Client client) {
+    return move(storage, client);
+  }
+
+  private static GameAndPits move(final Storage storage, final Client client) {
+    final Game game = client.game.game();
+    final int pitId = Boards.firstNonEmptyPit(client.game.pits(), game.nextPlayer());
+    client.game = storage.gameService.makeMove(game.id(), pitId);
+    if (client.game.game().gameOver()) {
+      client.game = storage.gameService.createGame();
+    }
+    return client.game;
+  }
+}
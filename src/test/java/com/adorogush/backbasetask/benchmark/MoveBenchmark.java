@@ -0,0 +1,74 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.service.Move;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single {@link Move} on boards of {@code pitsPerPlayer} pits filled with {@code
+ * stonesPerPit} stones. Run with the gc profiler: after warm-up {@code gc.alloc.rate.norm} is
+ * expected to be 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveBenchmark {
+
+  @Param({"6", "12"})
+  private int pitsPerPlayer;
+
+  @Param({"6", "500"})
+  private int stonesPerPit;
+
+  @Param({"0", "2", "5"})
+  private int pitId;
+
+  private int[] initialPits;
+  private int[] pits;
+
+  @Setup
+  public void setUp() {
+    initialPits = new int[pitsPerPlayer * 2 + 2];
+    pits = new int[initialPits.length];
+    for (int i = 0; i < initialPits.length; i++) {
+      final boolean isKalah = (i + 1) % (pitsPerPlayer + 1) == 0;
+      initialPits[i] = isKalah ? 0 : stonesPerPit;
+    }
+  }
+
+  @Benchmark
+  public boolean move() {
+    System.arraycopy(initialPits, 0, pits, 0, pits.length);
+    final Move move = new Move(pitsPerPlayer, pits, pitId);
+    move.move();
+    return move.isExtraMove();
+  }
+}
@@ -0,0 +1,134 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.repository.GameAndPitRepository;
+import com.adorogush.backbasetask.repository.MoveLogGameAndPitRepository;
+import com.adorogush.backbasetask.service.IdProvider;
+import com.adorogush.backbasetask.service.Move;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.h2.engine.Session;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.mvstore.FileStore;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * Write amplification of a move: the board rewritten in the {@code game} row ({@code
+ * snapshotInterval} 0, {@link GameAndPitRepository}) against {@link MoveLogGameAndPitRepository}
+ * appending to the {@code move} table with a snapshot every {@code snapshotInterval} moves. Every
+ * operation reads the game, makes a legal move and stores it, starting a new game when one is over.
+ * The {@code fileBytes} counter is the number of bytes H2 wrote to its file, so its ratio to the
+ * primary score gives the bytes written per move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoveLogBenchmark {
+
+  @Param({"0", "1", "16", "64"})
+  private int snapshotInterval;
+
+  private JdbcTemplate jdbcTemplate;
+  private FileStore fileStore;
+  private GameAndPitRepository repository;
+  private String gameId;
+  private long writeBytes;
+
+  /** Bytes written to the database file. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Counters {
+    public long fileBytes;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    final SingleConnectionDataSource dataSource =
+        new SingleConnectionDataSource("jdbc:h2:file:./target/move-log-benchmark", true);
+    final Connection connection = dataSource.getConnection();
+    ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+    fileStore =
+        ((Session) connection.unwrap(JdbcConnection.class).getSession())
+            .getDatabase()
+            .getStore()
+            .getMvStore()
+            .getFileStore();
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    final IdProvider idProvider = () -> UUID.randomUUID().toString();
+    repository =
+        snapshotInterval == 0
+            ? new GameAndPitRepository(idProvider, jdbcTemplate)
+            : new MoveLogGameAndPitRepository(idProvider, jdbcTemplate, snapshotInterval);
+    gameId = repository.createGame(6, 6).game().id();
+    writeBytes = fileStore.getWriteBytes();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    jdbcTemplate.execute("drop all objects delete files");
+  }
+
+  @Benchmark
+  public boolean move(final Counters counters) {
+    final GameAndPits found = repository.readGame(gameId).orElseThrow();
+    final Game game = found.game();
+    final Player player = game.nextPlayer() == null ? Player.ONE : game.nextPlayer();
+    final int[] pits = found.pits().clone();
+    final int pitId = Boards.firstNonEmptyPit(pits, player);
+    final Move move = new Move(pits.length / 2 - 1, pits, pitId);
+    move.move();
+    final Player nextPlayer = move.isExtraMove() ? player : player.opponent();
+    final boolean updated =
+        repository.updateGame(
+            new GameAndPits(
+                new Game(gameId, nextPlayer, move.isGameOver(), game.version() + 1), pits),
+            game.version(),
+            pitId);
+    if (move.isGameOver()) {
+      gameId = repository.createGame(6, 6).game().id();
+    }
+    final long written = fileStore.getWriteBytes();
+    counters.fileBytes += written - writeBytes;
+    writeBytes = written;
+    return updated;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.model.SearchResult;
+import com.adorogush.backbasetask.service.MoveSearch;
+import com.adorogush.backbasetask.service.TranspositionTable;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MoveSearch} to a fixed depth on fixed positions of the standard board, on one thread and
+ * on {@code parallelism} 0 (all available processors). Positions are taken from the game of the
+ * basic scenario: the start, after 6 moves and after 11 moves. The search runs without a {@link
+ * TranspositionTable} ({@code none}), with one cleared before every search ({@code fresh}) and with
+ * one kept across searches ({@code shared}), like the application does. Reports searches and nodes
+ * per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoveSearchBenchmark {
+
+  private static final Duration NO_LIMIT = Duration.ofHours(1);
+
+  @Param({"opening", "midgame", "endgame"})
+  private String position;
+
+  @Param({"1", "0"})
+  private int parallelism;
+
+  @Param({"none", "fresh", "shared"})
+  private String transpositionTable;
+
+  @Param({"12"})
+  private int depth;
+
+  private TranspositionTable table;
+  private MoveSearch moveSearch;
+  private int[] pits;
+  private Player player;
+
+  /** Nodes visited, reported as a rate next to the searches. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Nodes {
+    public long nodes;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    table = "none".equals(transpositionTable) ? null : new TranspositionTable(1 << 20);
+    moveSearch = new MoveSearch(parallelism, table);
+    switch (position) {
+      case "opening":
+        pits = new int[] {6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0};
+        player = Player.ONE;
+        break;
+      case "midgame":
+        pits = new int[] {2, 8, 0, 2, 9, 9, 3, 1, 0, 10, 9, 9, 8, 2};
+        player = Player.TWO;
+        break;
+      case "endgame":
+        pits = new int[] {1, 10, 0, 0, 2, 1, 25, 0, 0, 0, 0, 0, 9, 24};
+        player = Player.TWO;
+        break;
+      default:
+        throw new IllegalArgumentException(position);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void clearTable() {
+    if ("fresh".equals(transpositionTable)) {
+      table.clear();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    moveSearch.shutdown();
+  }
+
+  @Benchmark
+  public SearchResult search(final Nodes nodes) {
+    final SearchResult result = moveSearch.search(pits, player, NO_LIMIT, depth);
+    nodes.nodes += result.nodes();
+    return result;
+  }
+}
@@ -0,0 +1,148 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.repository.GameAndPitRepository;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * Compares the storage cost of a single move: the legacy schema with one {@code pit} row per pit
+ * against the packed {@code game.pits} column used by {@link GameAndPitRepository}. The {@code
+ * roundTrips} and {@code rowsTouched} counters are reported as rates next to the move rate, so
+ * their ratio to the primary score gives the cost per move (4 and 30 vs 2 and 2).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PitStorageBenchmark {
+
+  private static final String GAME_ID = "0b2a8c4e-6f0e-4c1a-9d55-3f4e0a1b2c3d";
+  private static final int[] PITS = {0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 0};
+
+  private JdbcTemplate legacyJdbcTemplate;
+  private GameAndPitRepository packedRepository;
+
+  /** Statements sent to the database and rows they read or wrote. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Counters {
+    public long roundTrips;
+    public long rowsTouched;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    legacyJdbcTemplate = jdbcTemplate("legacy");
+    legacyJdbcTemplate.execute(
+        "create table game (id varchar(36) not null primary key, nextPlayer int null,"
+            + " gameOver boolean not null)");
+    legacyJdbcTemplate.execute(
+        "create table pit (gameId varchar(36) not null, pitId int not null, size int not null,"
+            + " primary key(gameId, pitId),"
+            + " foreign key (gameId) references game(id) on delete cascade)");
+    legacyJdbcTemplate.update("insert into game values (?, null, false)", GAME_ID);
+    for (int i = 0; i < PITS.length; i++) {
+      legacyJdbcTemplate.update("insert into pit values (?, ?, ?)", GAME_ID, i, PITS[i]);
+    }
+
+    final JdbcTemplate packedJdbcTemplate = jdbcTemplate("packed");
+    try (Connection connection = packedJdbcTemplate.getDataSource().getConnection()) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+    }
+    packedRepository = new GameAndPitRepository(() -> GAME_ID, packedJdbcTemplate);
+    packedRepository.createGame(6, 6);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    legacyJdbcTemplate.execute("shutdown");
+    packedRepository.deleteGame(GAME_ID);
+  }
+
+  private static JdbcTemplate jdbcTemplate(final String name) {
+    return new JdbcTemplate(
+        new SingleConnectionDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", true));
+  }
+
+  @Benchmark
+  public int legacyRowPerPit(final Counters counters) {
+    final List<Integer> found =
+        legacyJdbcTemplate.query(
+            "select nextPlayer from game where id = ?", (rs, rowNum) -> rs.getInt(1), GAME_ID);
+    final List<Integer> pits =
+        legacyJdbcTemplate.query(
+            "select size from pit where gameId = ? order by pitId",
+            (rs, rowNum) -> rs.getInt(1),
+            GAME_ID);
+    final List<Object> values = new ArrayList<>();
+    final StringJoiner updateSql =
+        new StringJoiner("", "update pit set size = (case ", "end) where gameId = ?");
+    for (int i = 0; i < pits.size(); i++) {
+      updateSql.add("when pitId = ? then ? ");
+      values.add(i);
+      values.add(pits.get(i));
+    }
+    values.add(GAME_ID);
+    final int pitsUpdated = legacyJdbcTemplate.update(updateSql.toString(), values.toArray());
+    final int gamesUpdated =
+        legacyJdbcTemplate.update(
+            "update game set nextPlayer = ?, gameOver = ? where id = ?", 0, false, GAME_ID);
+    counters.roundTrips += 4;
+    counters.rowsTouched += found.size() + pits.size() + pitsUpdated + gamesUpdated;
+    return pitsUpdated + gamesUpdated;
+  }
+
+  @Benchmark
+  public int packedColumn(final Counters counters) {
+    final GameAndPits found = packedRepository.readGame(GAME_ID).orElseThrow();
+    final long version = found.game().version();
+    packedRepository.updateGame(
+        new GameAndPits(new Game(GAME_ID, Player.ONE, false, version + 1), found.pits()),
+        version,
+        0);
+    counters.roundTrips += 2;
+    counters.rowsTouched += 2;
+    return found.pits().length;
+  }
+}
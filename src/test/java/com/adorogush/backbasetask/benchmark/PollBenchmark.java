@@ -0,0 +1,77 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A client polling a game that does not change: plain {@code GET /games/{gameId}} against a
+ * conditional one answered with {@code 304 Not Modified}, with the game cache ({@code
+ * gameCacheSize} 10000) and without it (0).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PollBenchmark {
+
+  @Param({"0", "10000"})
+  private int gameCacheSize;
+
+  private RunningApplication application;
+  private String gamePath;
+  private String eTag;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, InterruptedException {
+    application = new RunningApplication("--gameCache.maximumSize=" + gameCacheSize);
+    gamePath = "/" + application.createGame();
+    eTag = application.send(gamePath, "GET", null).headers().firstValue("ETag").orElseThrow();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    application.close();
+  }
+
+  @Benchmark
+  public int fullRead() throws IOException, InterruptedException {
+    return application.send(gamePath, "GET", null).body().length();
+  }
+
+  @Benchmark
+  public int notModifiedRead() throws IOException, InterruptedException {
+    return application
+        .send(gamePath, "GET", null, request -> request.header("If-None-Match", eTag))
+        .statusCode();
+  }
+}
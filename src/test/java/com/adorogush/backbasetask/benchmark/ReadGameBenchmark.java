@@ -0,0 +1,88 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.service.GameService;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code GET /games/{gameId}} with 8 concurrent clients reading random games out of 1000, through
+ * HTTP ({@code http}) and through the {@link GameService} bean ({@code service}), with the game
+ * cache ({@code gameCacheSize} 10000) and without it (0).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ReadGameBenchmark {
+
+  private static final int GAMES = 1000;
+
+  @Param({"0", "10000"})
+  private long gameCacheSize;
+
+  private RunningApplication application;
+  private GameService gameService;
+  private String[] gameIds;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, InterruptedException {
+    application = new RunningApplication("--gameCache.maximumSize=" + gameCacheSize);
+    gameService = application.bean(GameService.class);
+    gameIds = new String[GAMES];
+    for (int i = 0; i < GAMES; i++) {
+      gameIds[i] = application.createGame();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    application.close();
+  }
+
+  @Benchmark
+  public int http() throws IOException, InterruptedException {
+    return application.send("/" + randomGameId(), "GET", null).body().length();
+  }
+
+  @Benchmark
+  public Object service() {
+    return gameService.readGame(randomGameId());
+  }
+
+  private String randomGameId() {
+    return gameIds[ThreadLocalRandom.current().nextInt(GAMES)];
+  }
+}
@@ -0,0 +1,95 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.GameRestResponse;
+import com.adorogush.backbasetask.model.Player;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding and decoding throughput of a game response in every format {@code GET /games/{gameId}}
+ * can produce, for a game of the standard board after the first move. Prints the payload size of
+ * the format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+  private static final String GAME_ID = "01ek6wnxq4m2b7sa8b1e3r4hgd";
+  private static final GameRestResponse RESPONSE =
+      new GameRestResponse(
+          GAME_ID,
+          URI.create("http://127.0.0.1:8080/games/" + GAME_ID),
+          new int[] {0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 0},
+          Player.ONE,
+          false);
+
+  @Param({"json", "cbor", "smile"})
+  private String format;
+
+  private ObjectMapper objectMapper;
+  private byte[] encoded;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    final JsonFactory factory;
+    switch (format) {
+      case "cbor":
+        factory = new CBORFactory();
+        break;
+      case "smile":
+        factory = new SmileFactory();
+        break;
+      default:
+        factory = new JsonFactory();
+    }
+    objectMapper = new ObjectMapper(factory);
+    encoded = objectMapper.writeValueAsBytes(RESPONSE);
+    System.out.printf("%n%s: %d bytes%n", format, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return objectMapper.writeValueAsBytes(RESPONSE);
+  }
+
+  @Benchmark
+  public GameRestResponse decode() throws IOException {
+    return objectMapper.readValue(encoded, GameRestResponse.class);
+  }
+}
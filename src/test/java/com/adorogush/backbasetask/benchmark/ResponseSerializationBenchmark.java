@@ -0,0 +1,125 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.GameRestResponse;
+import com.adorogush.backbasetask.model.Player;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time and allocation ({@code gc.alloc.rate.norm}) of writing one game response to the output
+ * stream: {@code direct} with {@link GameRestResponse} as the controller does, {@code reflective}
+ * the way it was done before, through a {@code status} map of strings and Jackson's bean
+ * serializer. Both produce the same bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+  private static final String GAME_ID = "01ek6wnxq4m2b7sa8b1e3r4hgd";
+  private static final URI GAME_URI = URI.create("http://127.0.0.1:8080/games/" + GAME_ID);
+  private static final int[] PITS = {0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 0};
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  /** Discards everything and, unlike {@link OutputStream#nullOutputStream()}, survives close. */
+  private final OutputStream outputStream =
+      new OutputStream() {
+        @Override
+        public void write(final int b) {}
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {}
+      };
+
+  @Benchmark
+  public void direct() throws IOException {
+    objectMapper.writeValue(
+        outputStream, new GameRestResponse(GAME_ID, GAME_URI, PITS, Player.ONE, false));
+  }
+
+  @Benchmark
+  public void reflective() throws IOException {
+    final Map<String, String> status = new LinkedHashMap<>();
+    for (int i = 0; i < PITS.length; i++) {
+      status.put(String.valueOf(i + 1), String.valueOf(PITS[i]));
+    }
+    objectMapper.writeValue(
+        outputStream, new ReflectiveResponse(GAME_ID, GAME_URI, status, Player.ONE, false));
+  }
+
+  /** The response model as Jackson serialized it before it had a serializer of its own. */
+  @JsonPropertyOrder({"id", "uri", "status", "nextPlayer", "gameOver"})
+  public static class ReflectiveResponse {
+    private final String id;
+    private final URI uri;
+    private final Map<String, String> status;
+    private final Player nextPlayer;
+    private final boolean gameOver;
+
+    ReflectiveResponse(
+        final String id,
+        final URI uri,
+        final Map<String, String> status,
+        final Player nextPlayer,
+        final boolean gameOver) {
+      this.id = id;
+      this.uri = uri;
+      this.status = status;
+      this.nextPlayer = nextPlayer;
+      this.gameOver = gameOver;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    public URI getUri() {
+      return uri;
+    }
+
+    public Map<String, String> getStatus() {
+      return status;
+    }
+
+    public Player getNextPlayer() {
+      return nextPlayer;
+    }
+
+    public boolean isGameOver() {
+      return gameOver;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.Application;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.Consumer;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** The whole application on a random port and an HTTP client for benchmarks of REST endpoints. */
+final class RunningApplication implements AutoCloseable {
+
+  private final ConfigurableApplicationContext context;
+  private final HttpClient client = HttpClient.newHttpClient();
+  private final String gamesUri;
+
+  RunningApplication(final String... args) {
+    final String[] allArgs = new String[args.length + 4];
+    allArgs[0] = "--server.port=0";
+    allArgs[1] = "--spring.main.banner-mode=off";
+    allArgs[2] = "--spring.profiles.active=prod";
+    allArgs[3] = "--logging.level.root=warn";
+    System.arraycopy(args, 0, allArgs, 4, args.length);
+    context = SpringApplication.run(Application.class, allArgs);
+    final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    gamesUri = "http://localhost:" + port + "/games";
+  }
+
+  /** Sends a request relative to {@code /games} and fails on any status other than 2xx. */
+  HttpResponse<String> send(final String path, final String method, final String jsonBody)
+      throws IOException, InterruptedException {
+    return send(path, method, jsonBody, request -> {});
+  }
+
+  /**
+   * Sends a request relative to {@code /games}, with headers added by {@code headers}, and fails on
+   * any status other than 2xx and 304.
+   */
+  HttpResponse<String> send(
+      final String path,
+      final String method,
+      final String jsonBody,
+      final Consumer<HttpRequest.Builder> headers)
+      throws IOException, InterruptedException {
+    final HttpRequest.Builder builder =
+        HttpRequest.newBuilder(uri(path))
+            .header("Accept", "application/json")
+            .header("Content-Type", "application/json");
+    headers.accept(builder);
+    final HttpRequest request =
+        builder
+            .method(
+                method,
+                jsonBody == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(jsonBody))
+            .build();
+    final HttpResponse<String> response =
+        client.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() / 100 != 2 && response.statusCode() != 304) {
+      throw new IllegalStateException(response.statusCode() + " " + response.body());
+    }
+    return response;
+  }
+
+  /** The absolute URI of a path relative to {@code /games}. */
+  URI uri(final String path) {
+    return URI.create(gamesUri + path);
+  }
+
+  <T> T bean(final Class<T> type) {
+    return context.getBean(type);
+  }
+
+  /** Creates a game and returns its id. */
+  String createGame() throws IOException, InterruptedException {
+    final String body = send("", "POST", null).body();
+    final int idStart = body.indexOf("\"id\":\"") + 6;
+    return body.substring(idStart, body.indexOf('"', idStart));
+  }
+
+  @Override
+  public void close() {
+    context.close();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.service.SelfPlayPolicy;
+import com.adorogush.backbasetask.service.SelfPlaySimulation;
+import com.adorogush.backbasetask.service.SelfPlayStatistics;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Games per second of {@link SelfPlaySimulation} on the standard board with both players on the
+ * same {@code policy}, on one thread and on {@code threads} 0 (all available processors).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SelfPlayBenchmark {
+
+  private static final int GAMES = 100_000;
+
+  @Param({"random", "greedy", "search:2"})
+  private String policy;
+
+  @Param({"1", "0"})
+  private int threads;
+
+  private SelfPlaySimulation simulation;
+  private long seed;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    simulation = new SelfPlaySimulation(6, 6, SelfPlayPolicy.of(policy), SelfPlayPolicy.of(policy));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(GAMES)
+  public SelfPlayStatistics play() {
+    return simulation.run(GAMES, seed++, threads, statistics -> {});
+  }
+}
@@ -0,0 +1,172 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Player;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load test of {@code /games/{gameId}/spectate}: {@code spectators} WebSocket spectators of one
+ * game, each on its own connection, while a player moves over {@code /games/{gameId}/ws}. Measures
+ * the time from a move until every spectator has received the new state. Prints the number of
+ * server threads and the server heap per spectator once all are connected, and how many states were
+ * coalesced or spectators dropped at the end.
+ *
+ * <p>The server runs in its own JVM, see {@link ApplicationProcess}, so that client and server each
+ * have the open files limit for themselves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SpectatorBenchmark {
+
+  private static final int CONNECT_BATCH = 500;
+
+  @Param({"1000", "10000"})
+  private int spectators;
+
+  private final Semaphore received = new Semaphore(0);
+  private final BlockingQueue<ByteBuffer> playerFrames = new LinkedBlockingQueue<>();
+  private final List<WebSocket> webSockets = new ArrayList<>();
+  private ApplicationProcess application;
+  private ExecutorService clientExecutor;
+  private HttpClient client;
+  private WebSocket player;
+  private int[] pits;
+  private Player nextPlayer;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, InterruptedException {
+    // enough stones for the game not to end during the run
+    application = new ApplicationProcess("--numberOfStones=1000");
+    clientExecutor = Executors.newFixedThreadPool(2);
+    client = HttpClient.newBuilder().executor(clientExecutor).build();
+    final String gameId = application.createGame();
+    application.gc();
+    final double heapBefore = application.metric("jvm.memory.used?tag=area:heap");
+    for (int connected = 0; connected < spectators; connected += CONNECT_BATCH) {
+      final int batch = Math.min(CONNECT_BATCH, spectators - connected);
+      final List<CompletableFuture<WebSocket>> futures = new ArrayList<>(batch);
+      for (int i = 0; i < batch; i++) {
+        futures.add(
+            client
+                .newWebSocketBuilder()
+                .buildAsync(
+                    application.uri("ws", "/" + gameId + "/spectate"), new SpectatorListener()));
+      }
+      futures.forEach(future -> webSockets.add(future.join()));
+      // the initial state
+      received.acquire(batch);
+    }
+    application.gc();
+    System.out.printf(
+        "%n%d spectators: %.0f server threads, %.1f KB server heap per spectator%n",
+        spectators,
+        application.metric("jvm.threads.live"),
+        (application.metric("jvm.memory.used?tag=area:heap") - heapBefore) / spectators / 1024);
+    player =
+        client
+            .newWebSocketBuilder()
+            .buildAsync(application.uri("ws", "/" + gameId + "/ws"), new PlayerListener())
+            .join();
+    pits = pits(playerFrames.take());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException, InterruptedException {
+    System.out.printf(
+        "%n%.0f states coalesced, %.0f spectators dropped%n",
+        application.metric("games.websocket.coalesced"),
+        application.metric("games.websocket.dropped"));
+    webSockets.forEach(WebSocket::abort);
+    player.abort();
+    application.close();
+    clientExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public int move() throws InterruptedException {
+    final int pitId = Boards.firstNonEmptyPit(pits, nextPlayer);
+    player.sendBinary(ByteBuffer.wrap(new byte[] {(byte) (pitId + 1)}), true).join();
+    final ByteBuffer state = playerFrames.take();
+    nextPlayer = Player.values()[state.get(9)];
+    pits = pits(state);
+    received.acquire(spectators);
+    return pits[pitId];
+  }
+
+  /** The pits of a state frame. */
+  private static int[] pits(final ByteBuffer state) {
+    final int[] pits = new int[(state.limit() - 11) / 2];
+    for (int i = 0; i < pits.length; i++) {
+      pits[i] = Short.toUnsignedInt(state.getShort(11 + i * 2));
+    }
+    return pits;
+  }
+
+  /** Counts complete state frames. */
+  private final class SpectatorListener implements WebSocket.Listener {
+    @Override
+    public CompletionStage<?> onBinary(
+        final WebSocket webSocket, final ByteBuffer data, final boolean last) {
+      if (last) {
+        received.release();
+      }
+      webSocket.request(1);
+      return null;
+    }
+  }
+
+  /** Hands over the state frames to the benchmark thread, frames are small enough to be whole. */
+  private final class PlayerListener implements WebSocket.Listener {
+    @Override
+    public CompletionStage<?> onBinary(
+        final WebSocket webSocket, final ByteBuffer data, final boolean last) {
+      playerFrames.add(ByteBuffer.allocate(data.remaining()).put(data).flip());
+      webSocket.request(1);
+      return null;
+    }
+  }
+}
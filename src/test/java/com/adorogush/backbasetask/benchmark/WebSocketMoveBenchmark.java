@@ -0,0 +1,162 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.benchmark;
+
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.service.Move;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trip of a move from the client's point of view, over the game WebSocket ({@code
+ * webSocketMove}) and with {@code PUT /games/{gameId}/pits/{pitId}} ({@code httpMove}). The client
+ * plays the first non-empty pit of the player to move and keeps track of the board itself, so
+ * neither variant parses the response. Prints the server-side handling time of WebSocket moves, the
+ * {@code games.websocket.moves} timer, at the end of the run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebSocketMoveBenchmark {
+
+  private final BlockingQueue<ByteBuffer> frames = new LinkedBlockingQueue<>();
+  private final HttpClient client = HttpClient.newHttpClient();
+  private RunningApplication application;
+  private String gameId;
+  private WebSocket webSocket;
+  private int[] pits;
+  private Player nextPlayer;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, InterruptedException {
+    // enough stones for a game to last many moves
+    application = new RunningApplication("--numberOfStones=1000");
+    newGame();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    final Timer timer = application.bean(MeterRegistry.class).get("games.websocket.moves").timer();
+    if (timer.count() > 0) {
+      final ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+      System.out.printf(
+          "%nServer-side WebSocket move handling: %d moves, mean %.1f us, p50 %.1f us,"
+              + " p99 %.1f us, max %.1f us%n",
+          timer.count(),
+          timer.mean(TimeUnit.MICROSECONDS),
+          percentiles[0].value(TimeUnit.MICROSECONDS),
+          percentiles[1].value(TimeUnit.MICROSECONDS),
+          timer.max(TimeUnit.MICROSECONDS));
+    }
+    webSocket.abort();
+    application.close();
+  }
+
+  @Benchmark
+  public int webSocketMove() throws IOException, InterruptedException {
+    final int pitId = nextPit();
+    webSocket.sendBinary(ByteBuffer.wrap(new byte[] {(byte) (pitId + 1)}), true).join();
+    final int length = frames.take().remaining();
+    afterMove(pitId);
+    return length;
+  }
+
+  @Benchmark
+  public int httpMove() throws IOException, InterruptedException {
+    final int pitId = nextPit();
+    final int length =
+        application.send("/" + gameId + "/pits/" + (pitId + 1), "PUT", null).body().length();
+    afterMove(pitId);
+    return length;
+  }
+
+  private int nextPit() {
+    return Boards.firstNonEmptyPit(pits, nextPlayer);
+  }
+
+  private void afterMove(final int pitId) throws IOException, InterruptedException {
+    final Move move = new Move(pits.length / 2 - 1, pits, pitId);
+    move.move();
+    if (move.isGameOver()) {
+      webSocket.abort();
+      newGame();
+    } else if (!move.isExtraMove()) {
+      nextPlayer = nextPlayer.opponent();
+    }
+  }
+
+  private void newGame() throws IOException, InterruptedException {
+    gameId = application.createGame();
+    pits = new int[14];
+    Arrays.fill(pits, 1000);
+    pits[6] = 0;
+    pits[13] = 0;
+    nextPlayer = Player.ONE;
+    frames.clear();
+    webSocket =
+        client
+            .newWebSocketBuilder()
+            .buildAsync(
+                URI.create(application.uri("/" + gameId + "/ws").toString().replace("http", "ws")),
+                new FrameCollector())
+            .join();
+    // the initial state
+    frames.take();
+  }
+
+  /** Hands over every complete binary frame to the benchmark thread. */
+  private final class FrameCollector implements WebSocket.Listener {
+    private ByteBuffer frame = ByteBuffer.allocate(0);
+
+    @Override
+    public CompletionStage<?> onBinary(
+        final WebSocket webSocket, final ByteBuffer data, final boolean last) {
+      frame = ByteBuffer.allocate(frame.remaining() + data.remaining()).put(frame).put(data);
+      if (last) {
+        frames.add(frame.flip());
+        frame = ByteBuffer.allocate(0);
+      }
+      webSocket.request(1);
+      return null;
+    }
+  }
+}
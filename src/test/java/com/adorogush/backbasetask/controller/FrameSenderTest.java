@@ -0,0 +1,102 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import org.junit.jupiter.api.Test;
+
+/** One frame is in flight at a time and states waiting for it are replaced by newer ones. */
+class FrameSenderTest {
+
+  private final List<ByteBuffer> sent = new ArrayList<>();
+  private final List<SendHandler> inFlight = new ArrayList<>();
+  private final List<Throwable> failures = new ArrayList<>();
+  private final FrameSender sender = new FrameSender(remote(), failures::add);
+
+  @Test
+  void testStatesWaitingForSlowClientAreCoalescedToLatest() {
+    // given
+    sender.sendState(1, frame(1));
+    // when
+    final boolean firstReplaced = sender.sendState(2, frame(2));
+    final boolean secondReplaced = sender.sendState(3, frame(3));
+    sender.sendError(frame(-1));
+    complete(0);
+    complete(1);
+    // then
+    assertThat(firstReplaced, equalTo(false));
+    assertThat(secondReplaced, equalTo(true));
+    assertThat(sent, equalTo(List.of(frame(1), frame(3), frame(-1))));
+  }
+
+  @Test
+  void testOlderStatesAreNotSent() {
+    // given
+    sender.sendState(2, frame(2));
+    complete(0);
+    // when
+    sender.sendState(1, frame(1));
+    sender.sendState(2, frame(2));
+    // then
+    assertThat(sent, equalTo(List.of(frame(2))));
+  }
+
+  @Test
+  void testFailedSendIsReported() {
+    // given
+    sender.sendState(1, frame(1));
+    final IOException failure = new IOException("timeout");
+    // when
+    inFlight.get(0).onResult(new SendResult(failure));
+    sender.sendState(2, frame(2));
+    // then
+    assertThat(failures, equalTo(List.of(failure)));
+    assertThat(sent, equalTo(List.of(frame(1))));
+  }
+
+  private void complete(final int send) {
+    inFlight.get(send).onResult(new SendResult());
+  }
+
+  private static ByteBuffer frame(final int content) {
+    return ByteBuffer.allocate(4).putInt(0, content).asReadOnlyBuffer();
+  }
+
+  /** Records every frame and keeps its send in flight until {@link #complete(int)}. */
+  private RemoteEndpoint.Async remote() {
+    return (RemoteEndpoint.Async)
+        Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {RemoteEndpoint.Async.class},
+            (proxy, method, args) -> {
+              if (method.getName().equals("sendBinary")) {
+                sent.add((ByteBuffer) args[0]);
+                inFlight.add((SendHandler) args[1]);
+              }
+              return null;
+            });
+  }
+}
@@ -0,0 +1,117 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.GameChangedEvent;
+import com.adorogush.backbasetask.model.Player;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/** A subscriber that stops reading is dropped and does not hold up the others. */
+class GameSubscriptionsTest {
+
+  private static final String GAME_ID = "01ek6wnxq4m2b7sa8b1e3r4hgd";
+  private static final URI GAME_URI = URI.create("http://localhost/games/" + GAME_ID);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CountDownLatch released = new CountDownLatch(1);
+  private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+  private final Deque<ResponseBodyEmitter> emitters = new ArrayDeque<>();
+  private final GameSubscriptions gameSubscriptions =
+      new GameSubscriptions(
+          new ObjectMapper(), Duration.ofMinutes(1), Duration.ofMillis(100), 1, meterRegistry) {
+        @Override
+        ResponseBodyEmitter newEmitter(final long timeoutMillis) {
+          return emitters.removeFirst();
+        }
+      };
+
+  @AfterEach
+  void tearDown() {
+    released.countDown();
+    gameSubscriptions.shutdown();
+  }
+
+  @Test
+  @Timeout(10)
+  void testSubscriberThatDoesNotReadIsDroppedAndOthersGetEvents() throws Exception {
+    // given
+    emitters.add(new NotReadingEmitter());
+    emitters.add(new ReceivingEmitter());
+    gameSubscriptions.subscribe(GAME_ID, GAME_URI, () -> state(0));
+    gameSubscriptions.subscribe(GAME_ID, GAME_URI, () -> state(0));
+    // when
+    final String initial = received.poll(5, TimeUnit.SECONDS);
+    gameSubscriptions.onGameChanged(new GameChangedEvent(state(1)));
+    final String afterMove = received.poll(5, TimeUnit.SECONDS);
+    // then
+    assertThat(initial, notNullValue());
+    assertThat(initial, startsWith("id:0\n"));
+    assertThat(afterMove, notNullValue());
+    assertThat(afterMove, startsWith("id:1\n"));
+    assertThat(afterMove, containsString("\"" + GAME_ID + "\""));
+    assertThat(meterRegistry.counter("games.subscriptions.dropped").count(), equalTo(1.0));
+    assertThat(meterRegistry.get("games.subscriptions").gauge().value(), equalTo(1.0));
+  }
+
+  private static GameAndPits state(final long version) {
+    return new GameAndPits(
+        new Game(GAME_ID, Player.ONE, false, version),
+        new int[] {6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0});
+  }
+
+  /** Blocks every write like a client whose connection buffers are full. */
+  private final class NotReadingEmitter extends ResponseBodyEmitter {
+    @Override
+    public void send(final Object object, final MediaType mediaType) {
+      try {
+        released.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private final class ReceivingEmitter extends ResponseBodyEmitter {
+    @Override
+    public void send(final Object object, final MediaType mediaType) {
+      received.add(new String((byte[]) object, StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** The serializer writes the same bytes as Jackson's default serialization of the response. */
+class GameRestResponseSerializerTest {
+
+  private static final URI GAME_URI =
+      URI.create("http://localhost:8080/games/01ek6wnxq4m2b7sa8b1e3r4hgd");
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void testOutputIsSameAsReflectiveSerialization() throws Exception {
+    final Random random = new Random(42);
+    for (final int numberOfPits : new int[] {6, 1, 40}) {
+      final int[] pits = new int[numberOfPits * 2 + 2];
+      for (int i = 0; i < pits.length; i++) {
+        pits[i] = random.nextInt(i % 2 == 0 ? 10 : 65536);
+      }
+      for (final Player nextPlayer : new Player[] {null, Player.ONE, Player.TWO}) {
+        // given
+        final GameRestResponse response =
+            new GameRestResponse("01ek6wnxq4m2b7sa8b1e3r4hgd", GAME_URI, pits, nextPlayer, true);
+        // when
+        final byte[] json = objectMapper.writeValueAsBytes(response);
+        // then
+        assertThat(new String(json), equalTo(objectMapper.writeValueAsString(asMap(response))));
+        final GameRestResponse read = objectMapper.readValue(json, GameRestResponse.class);
+        assertThat(read.status(), equalTo(response.status()));
+        assertThat(read.nextPlayer(), equalTo(nextPlayer));
+      }
+    }
+  }
+
+  /** The response as it was serialized before it had a serializer of its own. */
+  private static Map<String, Object> asMap(final GameRestResponse response) {
+    final Map<String, Object> map = new LinkedHashMap<>();
+    map.put("id", response.id());
+    map.put("uri", response.uri());
+    map.put("status", response.status());
+    map.put("nextPlayer", response.nextPlayer());
+    map.put("gameOver", response.gameOver());
+    return map;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.repository.CachingGameAndPitRepository.WriteMode;
+import com.adorogush.backbasetask.service.RandomIdProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/** Checks the consistency guarantees of both cache write modes. */
+class CachingGameAndPitRepositoryTest {
+
+  private JdbcTemplate jdbcTemplate;
+  private GameAndPitRepository repository;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    final DriverManagerDataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:game-cache;DB_CLOSE_DELAY=-1");
+    try (Connection connection = dataSource.getConnection()) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+    }
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    repository = new GameAndPitRepository(new RandomIdProvider(), jdbcTemplate);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.execute("drop all objects");
+  }
+
+  @Test
+  void testWriteThroughUpdatesDatabaseAndCache() {
+    // given
+    final CachingGameAndPitRepository cached = cachingRepository(WriteMode.WRITE_THROUGH);
+    final GameAndPits created = cached.createGame(6, 6);
+    final GameAndPits moved = moved(created);
+    // when
+    final boolean updated = cached.updateGame(moved, 0, 0);
+    // then
+    assertThat(updated, equalTo(true));
+    assertThat(repository.readGame(id(created)).orElseThrow().game().version(), equalTo(1L));
+    assertThat(cached.readGame(id(created)).orElseThrow().game().version(), equalTo(1L));
+    assertThat(cached.updateGame(moved(moved), 0, 0), equalTo(false));
+  }
+
+  @Test
+  void testWriteBehindFlushesOnlyLater() {
+    // given
+    final CachingGameAndPitRepository cached = cachingRepository(WriteMode.WRITE_BEHIND);
+    final GameAndPits created = cached.createGame(6, 6);
+    // when
+    final boolean updated = cached.updateGame(moved(created), 0, 0);
+    // then
+    assertThat(updated, equalTo(true));
+    assertThat(cached.readGame(id(created)).orElseThrow().game().version(), equalTo(1L));
+    assertThat(repository.readGame(id(created)).orElseThrow().game().version(), equalTo(0L));
+    cached.shutdown();
+    assertThat(repository.readGame(id(created)).orElseThrow().game().version(), equalTo(1L));
+  }
+
+  private CachingGameAndPitRepository cachingRepository(final WriteMode writeMode) {
+    return new CachingGameAndPitRepository(
+        repository,
+        new GroupCommitGameWriter(repository, null, false, Duration.ZERO, 1),
+        100,
+        Duration.ofMinutes(1),
+        writeMode,
+        Duration.ofHours(1),
+        new SimpleMeterRegistry());
+  }
+
+  private static String id(final GameAndPits gameAndPits) {
+    return gameAndPits.game().id();
+  }
+
+  private static GameAndPits moved(final GameAndPits gameAndPits) {
+    final Game game = gameAndPits.game();
+    return new GameAndPits(
+        new Game(game.id(), Player.ONE, false, game.version() + 1), gameAndPits.pits());
+  }
+}
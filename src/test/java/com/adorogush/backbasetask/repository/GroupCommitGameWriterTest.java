@@ -0,0 +1,169 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.service.RandomIdProvider;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Concurrent moves are committed in shared batches without changing compare-and-set semantics. */
+class GroupCommitGameWriterTest {
+
+  private static final int THREADS = 32;
+
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+  private GameAndPitRepository repository;
+  private GroupCommitGameWriter writer;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    final DriverManagerDataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:group-commit;DB_CLOSE_DELAY=-1");
+    try (Connection connection = dataSource.getConnection()) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+    }
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    repository = new GameAndPitRepository(new RandomIdProvider(), jdbcTemplate);
+    writer =
+        new GroupCommitGameWriter(
+            repository, transactionTemplate, true, Duration.ofMillis(50), THREADS * 2);
+    executor = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    executor.shutdownNow();
+    writer.shutdown();
+    jdbcTemplate.execute("drop all objects");
+  }
+
+  @Test
+  void testConcurrentMovesOfDifferentGamesAreAllCommitted() throws Exception {
+    // given
+    final List<GameAndPits> games = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      games.add(repository.createGame(6, 6));
+    }
+    // when
+    final List<Future<Boolean>> updated = new ArrayList<>();
+    for (final GameAndPits game : games) {
+      updated.add(executor.submit(() -> writer.updateGame(moved(game), 0, 0)));
+    }
+    // then
+    for (int i = 0; i < THREADS; i++) {
+      assertThat(updated.get(i).get(), equalTo(true));
+      final String gameId = games.get(i).game().id();
+      assertThat(repository.readGame(gameId).orElseThrow().game().version(), equalTo(1L));
+    }
+  }
+
+  @Test
+  void testOnlyOneOfConcurrentMovesOfOneGameIsCommitted() throws Exception {
+    // given
+    final GameAndPits game = repository.createGame(6, 6);
+    // when
+    final List<Future<Boolean>> updated = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      updated.add(executor.submit(() -> writer.updateGame(moved(game), 0, 0)));
+    }
+    // then
+    int committed = 0;
+    for (final Future<Boolean> future : updated) {
+      committed += future.get() ? 1 : 0;
+    }
+    assertThat(committed, equalTo(1));
+    assertThat(repository.readGame(game.game().id()).orElseThrow().game().version(), equalTo(1L));
+  }
+
+  @Test
+  @Timeout(30)
+  void testMovesRacingShutdownAllReturn() throws Exception {
+    for (int round = 0; round < 20; round++) {
+      // given
+      final GroupCommitGameWriter racingWriter =
+          new GroupCommitGameWriter(repository, transactionTemplate, true, Duration.ZERO, 4);
+      final AtomicBoolean shutDown = new AtomicBoolean();
+      final List<GameAndPits> games = new ArrayList<>();
+      final List<Future<Integer>> committed = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        final GameAndPits game = repository.createGame(6, 6);
+        games.add(game);
+        committed.add(executor.submit(() -> moveUntilShutDown(racingWriter, game, shutDown)));
+      }
+      // when
+      Thread.sleep(10);
+      racingWriter.shutdown();
+      shutDown.set(true);
+      // then
+      for (int i = 0; i < THREADS; i++) {
+        final long moves = committed.get(i).get();
+        final String gameId = games.get(i).game().id();
+        assertThat(repository.readGame(gameId).orElseThrow().game().version(), equalTo(moves));
+      }
+    }
+  }
+
+  /** Moves until a move made after the shutdown, returns the number of moves committed. */
+  private static int moveUntilShutDown(
+      final GroupCommitGameWriter writer, final GameAndPits game, final AtomicBoolean shutDown) {
+    GameAndPits current = game;
+    int committed = 0;
+    boolean last;
+    do {
+      last = shutDown.get();
+      try {
+        assertThat(writer.updateGame(moved(current), current.game().version(), 0), equalTo(true));
+        current = moved(current);
+        committed++;
+      } catch (final IllegalStateException e) {
+        // queued after the writer stopped and not committed
+      }
+    } while (!last);
+    return committed;
+  }
+
+  private static GameAndPits moved(final GameAndPits gameAndPits) {
+    final Game game = gameAndPits.game();
+    return new GameAndPits(
+        new Game(game.id(), Player.ONE, false, game.version() + 1), gameAndPits.pits());
+  }
+}
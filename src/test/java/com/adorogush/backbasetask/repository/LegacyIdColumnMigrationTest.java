@@ -0,0 +1,77 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.adorogush.backbasetask.service.GameIdCodec;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/** Upgrades a database that stores game ids as strings. */
+class LegacyIdColumnMigrationTest {
+
+  private static final String GAME_ID = "0b2a8c4e-6f0e-4c1a-9d55-3f4e0a1b2c3d";
+
+  private DriverManagerDataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new DriverManagerDataSource("jdbc:h2:mem:legacy-id;DB_CLOSE_DELAY=-1");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute(
+        "create table game (id varchar(36) not null primary key, nextPlayer int null,"
+            + " gameOver boolean not null, pits varbinary(255) not null,"
+            + " version bigint not null default 0)");
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.execute("drop all objects");
+  }
+
+  @Test
+  void testIdColumnIsConvertedAndIdsAreKept() throws SQLException {
+    // given
+    jdbcTemplate.update("insert into game values (?, 0, false, X'0006', 3)", GAME_ID);
+    // when
+    try (Connection connection = dataSource.getConnection()) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+    }
+    new LegacyIdColumnMigration(jdbcTemplate).migrate();
+    // then
+    final String typeName =
+        jdbcTemplate.queryForObject(
+            "select type_name from information_schema.columns"
+                + " where table_name = 'GAME' and column_name = 'ID'",
+            String.class);
+    assertThat(typeName, equalTo("UUID"));
+    final GameAndPitRepository repository = new GameAndPitRepository(() -> "unused", jdbcTemplate);
+    final String compactId = GameIdCodec.canonical(GAME_ID).orElseThrow();
+    assertThat(compactId, equalTo(GameIdCodec.format(UUID.fromString(GAME_ID))));
+    assertThat(repository.readGame(compactId).orElseThrow().game().version(), equalTo(3L));
+  }
+}
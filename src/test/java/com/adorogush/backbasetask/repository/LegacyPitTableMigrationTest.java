@@ -0,0 +1,90 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.service.GameIdCodec;
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Upgrades a database with the legacy one-row-per-pit schema. */
+class LegacyPitTableMigrationTest {
+
+  private static final String GAME_ID = "0b2a8c4e-6f0e-4c1a-9d55-3f4e0a1b2c3d";
+
+  private DriverManagerDataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new DriverManagerDataSource("jdbc:h2:mem:legacy-migration;DB_CLOSE_DELAY=-1");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute(
+        "create table game (id varchar(36) not null primary key, nextPlayer int null,"
+            + " gameOver boolean not null)");
+    jdbcTemplate.execute(
+        "create table pit (gameId varchar(36) not null, pitId int not null, size int not null,"
+            + " primary key(gameId, pitId),"
+            + " foreign key (gameId) references game(id) on delete cascade)");
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.execute("drop all objects");
+  }
+
+  @Test
+  void testPitRowsArePackedIntoGameRow() throws SQLException {
+    // given
+    final int[] pits = {0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 0};
+    jdbcTemplate.update("insert into game values (?, 0, false)", GAME_ID);
+    for (int i = pits.length - 1; i >= 0; i--) {
+      jdbcTemplate.update("insert into pit values (?, ?, ?)", GAME_ID, i, pits[i]);
+    }
+    // when
+    try (Connection connection = dataSource.getConnection()) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+    }
+    new LegacyPitTableMigration(
+            jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)))
+        .migrate();
+    // then
+    final GameAndPits migrated =
+        new GameAndPitRepository(() -> "unused", jdbcTemplate)
+            .readGame(GameIdCodec.canonical(GAME_ID).orElseThrow())
+            .orElseThrow();
+    assertThat(migrated.game().nextPlayer(), equalTo(Player.ONE));
+    assertThat(migrated.pits(), equalTo(pits));
+    final Integer pitTables =
+        jdbcTemplate.queryForObject(
+            "select count(*) from information_schema.tables where table_name = 'PIT'",
+            Integer.class);
+    assertThat(pitTables, equalTo(0));
+  }
+}
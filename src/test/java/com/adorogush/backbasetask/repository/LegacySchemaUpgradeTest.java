@@ -0,0 +1,95 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.service.GameIdCodec;
+import com.adorogush.backbasetask.service.GameService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Starts the application on a database of the original schema, with one {@code pit} row per pit and
+ * {@code varchar(36)} ids, so that both legacy migrations run in the order the application uses.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+@TestPropertySource(properties = "spring.datasource.url=" + LegacySchemaUpgradeTest.URL)
+class LegacySchemaUpgradeTest {
+
+  static final String URL = "jdbc:h2:mem:legacy-schema-upgrade;DB_CLOSE_DELAY=-1";
+  private static final String GAME_ID = "0b2a8c4e-6f0e-4c1a-9d55-3f4e0a1b2c3d";
+  private static final int[] PITS = {0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 0};
+
+  @Autowired private GameService gameService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  static void createBaselineDatabase() {
+    final JdbcTemplate baseline = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+    baseline.execute(
+        "create table game (id varchar(36) not null primary key, nextPlayer int null,"
+            + " gameOver boolean not null)");
+    baseline.execute(
+        "create table pit (gameId varchar(36) not null, pitId int not null, size int not null,"
+            + " primary key(gameId, pitId),"
+            + " foreign key (gameId) references game(id) on delete cascade)");
+    baseline.update("insert into game values (?, 1, false)", GAME_ID);
+    for (int i = 0; i < PITS.length; i++) {
+      baseline.update("insert into pit values (?, ?, ?)", GAME_ID, i, PITS[i]);
+    }
+  }
+
+  @AfterAll
+  static void dropDatabase() {
+    new JdbcTemplate(new DriverManagerDataSource(URL, "sa", "")).execute("drop all objects");
+  }
+
+  @Test
+  void testBaselineDatabaseIsUpgraded() {
+    // given
+    final String gameId = GameIdCodec.canonical(GAME_ID).orElseThrow();
+    // when
+    final GameAndPits migrated = gameService.readGame(gameId);
+    final GameAndPits moved = gameService.makeMove(gameId, 7);
+    // then
+    assertThat(migrated.game().nextPlayer(), equalTo(Player.TWO));
+    assertThat(migrated.pits(), equalTo(PITS));
+    assertThat(moved.game().version(), equalTo(1L));
+    assertThat(
+        jdbcTemplate.queryForObject(
+            "select count(*) from information_schema.tables where table_name = 'PIT'",
+            Integer.class),
+        equalTo(0));
+    assertThat(
+        jdbcTemplate.queryForObject(
+            "select type_name from information_schema.columns"
+                + " where table_name = 'GAME' and column_name = 'ID'",
+            String.class),
+        equalTo("UUID"));
+  }
+}
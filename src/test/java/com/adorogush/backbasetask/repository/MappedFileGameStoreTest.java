@@ -0,0 +1,161 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.adorogush.backbasetask.model.Game;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.service.GameIdCodec;
+import com.adorogush.backbasetask.service.RandomIdProvider;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Games survive a restart, deleted slots are reused, a torn write keeps the previous state and
+ * files of the first format are upgraded.
+ */
+class MappedFileGameStoreTest {
+
+  @TempDir Path directory;
+
+  private Path path;
+  private MappedFileGameStore store;
+
+  @BeforeEach
+  void setUp() {
+    path = directory.resolve("games.store");
+    store = open();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    store.close();
+  }
+
+  @Test
+  void testGamesSurviveRestart() throws IOException {
+    // given
+    final GameAndPits created = store.createGame(6, 6);
+    assertThat(store.updateGame(moved(created), 0, 0), equalTo(true));
+    assertThat(store.updateGame(moved(created), 0, 0), equalTo(false));
+    // when
+    store.close();
+    store = open();
+    // then
+    final GameAndPits found = store.readGame(created.game().id()).orElseThrow();
+    assertThat(found.game().version(), equalTo(1L));
+    assertThat(found.game().nextPlayer(), equalTo(Player.TWO));
+    assertThat(found.pits(), equalTo(moved(created).pits()));
+  }
+
+  @Test
+  void testDeletedSlotIsReused() {
+    // given
+    final GameAndPits first = store.createGame(6, 6);
+    store.createGame(6, 6);
+    // when
+    assertThat(store.deleteGame(first.game().id()), equalTo(true));
+    final GameAndPits third = store.createGame(6, 6);
+    store.createGame(6, 6);
+    // then
+    assertThat(store.readGame(first.game().id()).isPresent(), equalTo(false));
+    assertThat(store.readGame(third.game().id()).orElseThrow().game().version(), equalTo(0L));
+    assertThat(store.updateGame(moved(first), 0, 0), equalTo(false));
+  }
+
+  @Test
+  void testTornWriteKeepsPreviousState() throws IOException {
+    // given the first copy of slot 0 holds version 2 and the second one version 1
+    final GameAndPits created = store.createGame(6, 6);
+    final GameAndPits version1 = moved(created);
+    store.updateGame(version1, 0, 0);
+    store.updateGame(moved(version1), 1, 0);
+    store.close();
+    // when a byte of the first copy is overwritten, after the file header and the used flag
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {42}), 16 + 1 + 20);
+    }
+    store = open();
+    // then
+    assertThat(store.readGame(created.game().id()).orElseThrow().game().version(), equalTo(1L));
+  }
+
+  @Test
+  void testFirstFormatIsUpgraded() throws IOException {
+    // given a file of the first format with a game whose second copy holds version 1
+    store.close();
+    final String uuid = "0174f1a2-5b3c-7d4e-8f60-718293a4b5c6";
+    final int[] pits = {0, 7, 7, 7, 7, 7, 1, 7, 6, 6, 6, 6, 6, 0};
+    final int recordSize = 47 + pits.length * 2 + 4;
+    final ByteBuffer file = ByteBuffer.allocate(16 + 4 * (1 + recordSize * 2));
+    file.putInt(0, 0x4b414c48).putInt(4, 1).putInt(8, 4).putInt(12, pits.length);
+    file.put(16, (byte) 1);
+    putFormat1Record(file, 17, recordSize, uuid, 0, pits);
+    putFormat1Record(file, 17 + recordSize, recordSize, uuid, 1, pits);
+    Files.write(path, file.array());
+    // when
+    store = open();
+    // then
+    final GameAndPits found =
+        store.readGame(GameIdCodec.canonical(uuid).orElseThrow()).orElseThrow();
+    assertThat(found.game().version(), equalTo(1L));
+    assertThat(found.game().nextPlayer(), equalTo(Player.TWO));
+    assertThat(found.pits(), equalTo(pits));
+    assertThat(Files.size(path), equalTo(16 + 4 * (1 + (26 + pits.length * 2 + 4) * 2L)));
+  }
+
+  private static void putFormat1Record(
+      final ByteBuffer file,
+      final int offset,
+      final int recordSize,
+      final String id,
+      final long version,
+      final int[] pits) {
+    file.putLong(offset, version).put(offset + 8, (byte) 1).put(offset + 10, (byte) id.length());
+    file.position(offset + 11).put(id.getBytes(StandardCharsets.US_ASCII));
+    for (int i = 0; i < pits.length; i++) {
+      file.putShort(offset + 47 + i * 2, (short) pits[i]);
+    }
+    final CRC32C crc = new CRC32C();
+    crc.update(file.array(), offset, recordSize - 4);
+    file.putInt(offset + recordSize - 4, (int) crc.getValue() | 1);
+  }
+
+  private MappedFileGameStore open() {
+    return new MappedFileGameStore(new RandomIdProvider(), 6, path, 4);
+  }
+
+  private static GameAndPits moved(final GameAndPits gameAndPits) {
+    final Game game = gameAndPits.game();
+    final int[] pits = gameAndPits.pits().clone();
+    pits[0] = 0;
+    pits[6] = 1;
+    return new GameAndPits(new Game(game.id(), Player.TWO, false, game.version() + 1), pits);
+  }
+}
@@ -16,21 +16,51 @@
 package com.adorogush.backbasetask.rest;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
+import com.adorogush.backbasetask.controller.GamesController;
 import com.adorogush.backbasetask.model.GameRestResponse;
 import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.service.GameIdCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -43,10 +73,12 @@ import org.springframework.test.context.ActiveProfiles;
 class KalahTest {
 
   private final TestRestTemplate testRestTemplate;
+  private final int localPort;
 
   public KalahTest(
       @LocalServerPort final int localPort,
       @Autowired final RestTemplateBuilder restTemplateBuilder) {
+    this.localPort = localPort;
     testRestTemplate =
         new TestRestTemplate(
             restTemplateBuilder
@@ -79,6 +111,262 @@ class KalahTest {
     assertMoveReturnsError(game.id(), 1, "Game is over.");
   }
 
+  @Test
+  void testMovesOfBasicScenarioInOneRequest() {
+    // given
+    final GameRestResponse game = createGame();
+    // when
+    final GameRestResponse state = moves(game.id(), 1, 3, 8, 4, 9, 3, 8, 1, 12, 4, 3, 13, 4, 8);
+    // then
+    assertThat(state.gameOver(), equalTo(true));
+    assertThat(state.status(), equalTo(pits(0, 0, 0, 0, 0, 0, 42, 0, 0, 0, 0, 0, 0, 30)));
+    assertThat(readGame(game.id()).status(), equalTo(state.status()));
+  }
+
+  @Test
+  void testMovesContinueFromSingleMoves() {
+    // given
+    final GameRestResponse game = createGame();
+    move(game.id(), 1);
+    // when
+    final GameRestResponse state = moves(game.id(), 3, 8);
+    // then
+    assertThat(state.nextPlayer(), equalTo(Player.ONE));
+    assertThat(state.status(), equalTo(pits(1, 7, 0, 8, 8, 8, 2, 0, 8, 8, 7, 7, 7, 1)));
+    move(game.id(), 4, 1, 7, 0, 0, 9, 9, 3, 1, 9, 9, 8, 8, 7, 1);
+  }
+
+  @Test
+  void testAppliedDeltasReproduceFullState() {
+    // given
+    final GameRestResponse game = createGame();
+    final Map<String, String> board = new LinkedHashMap<>(game.status());
+    long version = 0;
+    for (final int pitId : new int[] {1, 3, 8, 4, 9, 3, 8, 1, 12, 4, 3, 13, 4, 8}) {
+      // when
+      final ResponseEntity<JsonNode> response =
+          testRestTemplate.exchange(
+              "/games/{gameId}/pits/{pitId}?delta=true",
+              HttpMethod.PUT,
+              null,
+              JsonNode.class,
+              game.id(),
+              pitId);
+      final JsonNode delta = response.getBody();
+      delta
+          .get("status")
+          .fields()
+          .forEachRemaining(
+              pit -> {
+                assertThat(pit.getValue().asText(), not(equalTo(board.get(pit.getKey()))));
+                board.put(pit.getKey(), pit.getValue().asText());
+              });
+      // then
+      final GameRestResponse full = readGame(game.id());
+      assertThat(delta.get("status").size(), lessThan(board.size()));
+      assertThat(board, equalTo(full.status()));
+      assertThat(delta.get("nextPlayer").asInt(), equalTo(full.nextPlayer().index()));
+      assertThat(delta.get("gameOver").asBoolean(), equalTo(full.gameOver()));
+      assertThat(delta.get("version").asLong(), equalTo(++version));
+      assertThat(response.getHeaders().getETag(), equalTo("\"" + version + "\""));
+    }
+    assertThat(readGame(game.id()).gameOver(), equalTo(true));
+  }
+
+  @Test
+  void testInvalidMoveIsReportedByIndexAndNoMoveIsMade() {
+    // given
+    final GameRestResponse game = createGame();
+    // when / then
+    assertMovesReturnError(game.id(), "Move 2: Wrong player's move.", 1, 3, 4);
+    assertMovesReturnError(game.id(), "Move 1: Pit is Kalah.", 1, 7);
+    assertThat(readGame(game.id()).status(), equalTo(game.status()));
+  }
+
+  @Test
+  @Timeout(10)
+  void testEventsStreamStatesUntilGameIsOver() throws Exception {
+    // given
+    final GameRestResponse game = createGame();
+    // when
+    final Iterator<String> events = subscribe(game.id());
+    final List<String> initial = nextEvent(events);
+    move(game.id(), 1);
+    final List<String> afterMove = nextEvent(events);
+    moves(game.id(), 3, 8, 4, 9, 3, 8, 1, 12, 4, 3, 13, 4, 8);
+    final List<String> afterGameOver = nextEvent(events);
+    // then
+    assertThat(initial.subList(0, 2), equalTo(List.of("id:0", "event:game")));
+    assertThat(initial.get(2), containsString("\"nextPlayer\":null"));
+    assertThat(afterMove.subList(0, 2), equalTo(List.of("id:1", "event:game")));
+    assertThat(afterMove.get(2), containsString("\"1\":\"0\",\"2\":\"7\""));
+    assertThat(afterGameOver.subList(0, 2), equalTo(List.of("id:14", "event:game")));
+    assertThat(afterGameOver.get(2), containsString("\"gameOver\":true"));
+    assertThat(events.hasNext(), equalTo(false));
+  }
+
+  @Test
+  @Timeout(10)
+  void testEventsStreamEndsWhenGameIsDeleted() throws Exception {
+    // given
+    final GameRestResponse game = createGame();
+    final Iterator<String> events = subscribe(game.id());
+    nextEvent(events);
+    // when
+    deleteGame(game.id());
+    // then
+    assertThat(events.hasNext(), equalTo(false));
+  }
+
+  @Test
+  @Timeout(10)
+  void testOtherFormsOfGameIdReachTheSameGame() throws Exception {
+    // given
+    final GameRestResponse game = createGame();
+    final String upperCaseId = game.id().toUpperCase();
+    final String uuidId = GameIdCodec.parse(game.id()).orElseThrow().toString();
+    final Iterator<String> events = subscribe(upperCaseId);
+    nextEvent(events);
+    conditionalRead(uuidId, "\"-1\"");
+    // when
+    move(game.id(), 1);
+    final List<String> afterMove = nextEvent(events);
+    final ResponseEntity<String> modified = conditionalRead(uuidId, "\"0\"");
+    final GameRestResponse gameFound = readGame(upperCaseId);
+    // then
+    assertThat(afterMove.subList(0, 2), equalTo(List.of("id:1", "event:game")));
+    assertThat(afterMove.get(2), containsString("\"id\":\"" + game.id() + "\""));
+    assertThat(modified.getStatusCode(), equalTo(HttpStatus.OK));
+    assertThat(modified.getHeaders().getETag(), equalTo("\"1\""));
+    assertThat(gameFound.id(), equalTo(game.id()));
+    assertThat(gameFound.uri(), equalTo(game.uri()));
+    assertThat(gameFound.status(), equalTo(pits(0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 0)));
+  }
+
+  @Test
+  @Timeout(10)
+  void testWebSocketSendsStateAfterMove() throws Exception {
+    // given
+    final GameRestResponse game = createGame();
+    final BlockingQueue<ByteBuffer> frames = new LinkedBlockingQueue<>();
+    final WebSocket webSocket = connect(game.id(), frames);
+    final ByteBuffer initial = frames.take();
+    // when
+    webSocket.sendBinary(ByteBuffer.wrap(new byte[] {1}), true).join();
+    final ByteBuffer afterMove = frames.take();
+    // then
+    assertThat(initial.get(), equalTo((byte) 1));
+    assertThat(initial.getLong(), equalTo(0L));
+    assertThat(initial.get(), equalTo((byte) -1));
+    assertThat(afterMove.get(), equalTo((byte) 1));
+    assertThat(afterMove.getLong(), equalTo(1L));
+    assertThat(afterMove.get(), equalTo((byte) Player.ONE.index()));
+    assertThat(afterMove.get(), equalTo((byte) 0));
+    assertThat(framePits(afterMove), equalTo(pits(0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 0)));
+    assertThat(readGame(game.id()).status(), equalTo(framePits(afterMove.rewind().position(11))));
+  }
+
+  @Test
+  @Timeout(10)
+  void testWebSocketSendsErrorForInvalidMove() throws Exception {
+    // given
+    final GameRestResponse game = createGame();
+    final BlockingQueue<ByteBuffer> frames = new LinkedBlockingQueue<>();
+    final WebSocket webSocket = connect(game.id(), frames);
+    frames.take();
+    // when
+    webSocket.sendBinary(ByteBuffer.wrap(new byte[] {7}), true).join();
+    final ByteBuffer error = frames.take();
+    // then
+    assertThat(error.get(), equalTo((byte) 2));
+    assertThat((int) error.getShort(), equalTo(HttpStatus.BAD_REQUEST.value()));
+    assertThat(StandardCharsets.UTF_8.decode(error).toString(), equalTo("Pit is Kalah."));
+    assertThat(readGame(game.id()).status(), equalTo(game.status()));
+  }
+
+  @Test
+  @Timeout(10)
+  void testSpectatorGetsMovesButCanNotMove() throws Exception {
+    // given
+    final GameRestResponse game = createGame();
+    final BlockingQueue<ByteBuffer> frames = new LinkedBlockingQueue<>();
+    final WebSocket spectator = connect(game.id(), "spectate", frames);
+    frames.take();
+    // when
+    move(game.id(), 1);
+    final ByteBuffer afterMove = frames.take();
+    spectator.sendBinary(ByteBuffer.wrap(new byte[] {3}), true).join();
+    final ByteBuffer error = frames.take();
+    // then
+    assertThat(afterMove.get(), equalTo((byte) 1));
+    assertThat(afterMove.getLong(), equalTo(1L));
+    assertThat(framePits(afterMove.position(11)), equalTo(readGame(game.id()).status()));
+    assertThat(error.get(), equalTo((byte) 2));
+    assertThat((int) error.getShort(), equalTo(HttpStatus.BAD_REQUEST.value()));
+    assertThat(
+        StandardCharsets.UTF_8.decode(error).toString(), equalTo("Spectators can not move."));
+    assertThat(
+        readGame(game.id()).status(), equalTo(pits(0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 0)));
+  }
+
+  @Test
+  void testAiMoveIsMadeForNextPlayer() {
+    // given
+    final GameRestResponse game = createGame();
+    move(game.id(), 3);
+    // when
+    final ResponseEntity<GameRestResponse> response =
+        testRestTemplate.exchange(
+            "/games/{gameId}/ai-move", HttpMethod.POST, null, GameRestResponse.class, game.id());
+    // then
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    final String pitId = response.getHeaders().getFirst("Search-Pit-Id");
+    assertThat(Integer.parseInt(pitId), both(greaterThan(7)).and(lessThan(14)));
+    assertThat(response.getBody().status().get(pitId), equalTo("0"));
+    assertThat(
+        Integer.parseInt(response.getHeaders().getFirst("Search-Depth")), greaterThanOrEqualTo(1));
+    assertThat(response.getHeaders().getFirst("Search-Nodes-Per-Second"), notNullValue());
+    assertThat(response.getHeaders().getETag(), equalTo("\"2\""));
+    assertThat(readGame(game.id()).status(), equalTo(response.getBody().status()));
+  }
+
+  @Test
+  void testAiMoveOfFinishedGameReturnsBadRequest() {
+    // given
+    final GameRestResponse game = createGame();
+    moves(game.id(), 1, 3, 8, 4, 9, 3, 8, 1, 12, 4, 3, 13, 4, 8);
+    // when
+    final ResponseEntity<String> response =
+        testRestTemplate.exchange(
+            "/games/{gameId}/ai-move", HttpMethod.POST, null, String.class, game.id());
+    // then
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+    assertThat(response.getBody(), equalTo("Game is over."));
+  }
+
+  @Test
+  void testAnalysisScoresEveryPitOfNextPlayerAndIsCached() {
+    // given
+    final GameRestResponse game = createGame();
+    move(game.id(), 1);
+    final double hitsBefore = analysisCacheHits();
+    // when
+    final JsonNode analysis = readAnalysis(game.id());
+    final JsonNode cached = readAnalysis(game.id());
+    // then
+    assertThat(analysis.get("id").asText(), equalTo(game.id()));
+    assertThat(analysis.get("player").asInt(), equalTo(0));
+    assertThat(analysis.get("depth").asInt(), greaterThanOrEqualTo(1));
+    final JsonNode pits = analysis.get("pits");
+    assertThat(pits.size(), equalTo(5));
+    for (int i = 0; i < pits.size(); i++) {
+      assertThat(pits.get(i).get("pit").asInt(), equalTo(i + 2));
+      assertThat(pits.get(i).get("principalVariation").get(0).asInt(), equalTo(i + 2));
+    }
+    assertThat(cached, equalTo(analysis));
+    assertThat(analysisCacheHits() - hitsBefore, equalTo(1.0));
+  }
+
   @Test
   void testGameCreateReturnsValidResponse() {
     // when
@@ -91,6 +379,33 @@ class KalahTest {
     assertThat(game.status(), equalTo(pits(6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0)));
   }
 
+  @Test
+  void testGamesBatchCreateReturnsUrisOfNewGames() {
+    // when
+    final ResponseEntity<URI[]> response =
+        testRestTemplate.postForEntity("/games/batch?count={count}", null, URI[].class, 3);
+    // then
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.CREATED));
+    final URI[] uris = response.getBody();
+    assertThat(uris.length, equalTo(3));
+    assertThat(Set.of(uris).size(), equalTo(3));
+    for (final URI uri : uris) {
+      final GameRestResponse game = testRestTemplate.getForObject(uri, GameRestResponse.class);
+      assertThat(game.uri(), equalTo(uri));
+      assertThat(game.status(), equalTo(pits(6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0)));
+    }
+  }
+
+  @Test
+  void testGamesBatchCreateOfNoGamesReturnsBadRequest() {
+    // when
+    final ResponseEntity<String> response =
+        testRestTemplate.postForEntity("/games/batch?count={count}", null, String.class, 0);
+    // then
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+    assertThat(response.getBody(), equalTo("Number of games must be between 1 and 10000."));
+  }
+
   @Test
   void testGameMoveReturnsValidResponse() {
     // given
@@ -118,6 +433,57 @@ class KalahTest {
     assertThat(gameFound.status(), equalTo(pits(0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 0)));
   }
 
+  @Test
+  void testGameReadInBinaryFormatsMatchesJson() throws Exception {
+    // given
+    final GameRestResponse game = createGame();
+    move(game.id(), 1);
+    final GameRestResponse json = readGame(game.id());
+    // when
+    final byte[] cbor = readGame(game.id(), MediaType.APPLICATION_CBOR);
+    final byte[] smile =
+        readGame(game.id(), MediaType.valueOf(GamesController.APPLICATION_SMILE_VALUE));
+    // then
+    for (final GameRestResponse binary :
+        List.of(
+            new ObjectMapper(new CBORFactory()).readValue(cbor, GameRestResponse.class),
+            new ObjectMapper(new SmileFactory()).readValue(smile, GameRestResponse.class))) {
+      assertThat(binary.id(), equalTo(json.id()));
+      assertThat(binary.uri(), equalTo(json.uri()));
+      assertThat(binary.status(), equalTo(json.status()));
+      assertThat(binary.nextPlayer(), equalTo(json.nextPlayer()));
+      assertThat(binary.gameOver(), equalTo(json.gameOver()));
+    }
+  }
+
+  @Test
+  void testConditionalReadReturnsNotModifiedUntilGameChanges() {
+    // given
+    final GameRestResponse game = createGame();
+    final String eTag = conditionalRead(game.id(), "\"-1\"").getHeaders().getETag();
+    final double notModifiedBefore = notModifiedReads();
+    // when
+    final ResponseEntity<String> notModified = conditionalRead(game.id(), eTag);
+    move(game.id(), 1);
+    final ResponseEntity<String> modified = conditionalRead(game.id(), eTag);
+    // then
+    assertThat(eTag, equalTo("\"0\""));
+    assertThat(notModified.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+    assertThat(notModified.getHeaders().getETag(), equalTo(eTag));
+    assertThat(notModified.getBody(), nullValue());
+    assertThat(modified.getStatusCode(), equalTo(HttpStatus.OK));
+    assertThat(modified.getHeaders().getETag(), equalTo("\"1\""));
+    assertThat(notModifiedReads() - notModifiedBefore, equalTo(1.0));
+  }
+
+  @Test
+  void testConditionalReadOfMissingGameReturnsNotFound() {
+    // when
+    final ResponseEntity<String> response = conditionalRead("01ek6wnxq4m2b7sa8b1e3r4hgd", "\"0\"");
+    // then
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+  }
+
   @Test
   void testMoveEmptyPitDoesNothing() {
     // given
@@ -220,6 +586,106 @@ class KalahTest {
     return response.getBody();
   }
 
+  private byte[] readGame(final String gameId, final MediaType mediaType) {
+    final HttpHeaders headers = new HttpHeaders();
+    headers.setAccept(List.of(mediaType));
+    final ResponseEntity<byte[]> response =
+        testRestTemplate.exchange(
+            "/games/{gameId}", HttpMethod.GET, new HttpEntity<>(headers), byte[].class, gameId);
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    assertThat(response.getHeaders().getContentType(), equalTo(mediaType));
+    return response.getBody();
+  }
+
+  private ResponseEntity<String> conditionalRead(final String gameId, final String eTag) {
+    final HttpHeaders headers = new HttpHeaders();
+    headers.setIfNoneMatch(eTag);
+    return testRestTemplate.exchange(
+        "/games/{gameId}", HttpMethod.GET, new HttpEntity<>(headers), String.class, gameId);
+  }
+
+  private JsonNode readAnalysis(final String gameId) {
+    final ResponseEntity<JsonNode> response =
+        testRestTemplate.getForEntity("/games/{gameId}/analysis", JsonNode.class, gameId);
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    return response.getBody();
+  }
+
+  private double analysisCacheHits() {
+    final JsonNode metric =
+        testRestTemplate.getForObject(
+            "/actuator/metrics/cache.gets?tag=cache:analyses&tag=result:hit", JsonNode.class);
+    return metric.get("measurements").get(0).get("value").asDouble();
+  }
+
+  private double notModifiedReads() {
+    final JsonNode metric =
+        testRestTemplate.getForObject(
+            "/actuator/metrics/games.reads?tag=result:not-modified", JsonNode.class);
+    return metric.get("measurements").get(0).get("value").asDouble();
+  }
+
+  private Iterator<String> subscribe(final String gameId) throws Exception {
+    final HttpResponse<Stream<String>> response =
+        HttpClient.newHttpClient()
+            .send(
+                HttpRequest.newBuilder(
+                        URI.create(
+                            "http://localhost:" + localPort + "/games/" + gameId + "/events"))
+                    .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE)
+                    .build(),
+                HttpResponse.BodyHandlers.ofLines());
+    assertThat(response.statusCode(), equalTo(HttpStatus.OK.value()));
+    return response.body().iterator();
+  }
+
+  /** The lines of the next event, without the blank line that ends it. */
+  private static List<String> nextEvent(final Iterator<String> events) {
+    final List<String> lines = new ArrayList<>();
+    for (String line = events.next(); !line.isEmpty(); line = events.next()) {
+      lines.add(line);
+    }
+    return lines;
+  }
+
+  private WebSocket connect(final String gameId, final BlockingQueue<ByteBuffer> frames) {
+    return connect(gameId, "ws", frames);
+  }
+
+  /** Collects every binary frame the server sends to {@code /games/{gameId}/{endpoint}}. */
+  private WebSocket connect(
+      final String gameId, final String endpoint, final BlockingQueue<ByteBuffer> frames) {
+    return HttpClient.newHttpClient()
+        .newWebSocketBuilder()
+        .buildAsync(
+            URI.create("ws://localhost:" + localPort + "/games/" + gameId + "/" + endpoint),
+            new WebSocket.Listener() {
+              private ByteBuffer frame = ByteBuffer.allocate(0);
+
+              @Override
+              public CompletionStage<?> onBinary(
+                  final WebSocket webSocket, final ByteBuffer data, final boolean last) {
+                frame =
+                    ByteBuffer.allocate(frame.remaining() + data.remaining()).put(frame).put(data);
+                if (last) {
+                  frames.add(frame.flip());
+                  frame = ByteBuffer.allocate(0);
+                }
+                webSocket.request(1);
+                return null;
+              }
+            })
+        .join();
+  }
+
+  private static Map<String, String> framePits(final ByteBuffer frame) {
+    final int[] pits = new int[frame.remaining() / 2];
+    for (int i = 0; i < pits.length; i++) {
+      pits[i] = Short.toUnsignedInt(frame.getShort());
+    }
+    return pits(pits);
+  }
+
   private void deleteGame(final String gameId) {
     final ResponseEntity<Void> response =
         testRestTemplate.exchange("/games/{gameId}", HttpMethod.DELETE, null, Void.class, gameId);
@@ -244,6 +710,18 @@ class KalahTest {
     return response.getBody();
   }
 
+  private GameRestResponse moves(final String gameId, final int... pitIds) {
+    final ResponseEntity<GameRestResponse> response =
+        testRestTemplate.exchange(
+            "/games/{gameId}/pits",
+            HttpMethod.PUT,
+            new HttpEntity<>(pitIds),
+            GameRestResponse.class,
+            gameId);
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    return response.getBody();
+  }
+
   private static Map<String, String> pits(final int... pit) {
     final Map<String, String> map = new LinkedHashMap<>();
     for (int i = 0; i < pit.length; i++) {
@@ -259,4 +737,13 @@ class KalahTest {
     assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
     assertThat(response.getBody(), equalTo(message));
   }
+
+  private void assertMovesReturnError(
+      final String gameId, final String message, final int... pitIds) {
+    final ResponseEntity<String> response =
+        testRestTemplate.exchange(
+            "/games/{gameId}/pits", HttpMethod.PUT, new HttpEntity<>(pitIds), String.class, gameId);
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+    assertThat(response.getBody(), equalTo(message));
+  }
 }
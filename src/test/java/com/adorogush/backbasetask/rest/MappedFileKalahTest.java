@@ -0,0 +1,46 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.rest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/** Runs {@link KalahTest} against the memory-mapped game store, with the game cache disabled. */
+@ActiveProfiles("mapped-file")
+class MappedFileKalahTest extends KalahTest {
+
+  public MappedFileKalahTest(
+      @LocalServerPort final int localPort,
+      @Autowired final RestTemplateBuilder restTemplateBuilder) {
+    super(localPort, restTemplateBuilder);
+  }
+
+  @DynamicPropertySource
+  static void gameStoreProperties(final DynamicPropertyRegistry registry) throws IOException {
+    final File file = Files.createTempFile("games", ".store").toFile();
+    file.deleteOnExit();
+    final String path = file.getPath();
+    registry.add("mappedFileStore.path", () -> path);
+    registry.add("gameCache.maximumSize", () -> 0);
+  }
+}
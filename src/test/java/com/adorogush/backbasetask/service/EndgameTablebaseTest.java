@@ -0,0 +1,124 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Every value of small tablebases is compared with minimax to the end of the game, for both players
+ * to move.
+ */
+class EndgameTablebaseTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void testValuesMatchMinimax() {
+    for (final int[] size : new int[][] {{3, 8}, {6, 5}}) {
+      // given
+      final int pitsPerPlayer = size[0];
+      final int maxStones = size[1];
+
+      // when
+      final EndgameTablebase tablebase =
+          EndgameTablebaseGenerator.build(pitsPerPlayer, maxStones, line -> {});
+
+      // then
+      final int[] pits = new int[pitsPerPlayer * 2 + 2];
+      for (int stones = 0; stones <= maxStones; stones++) {
+        final long count = tablebase.offset(stones + 1) - tablebase.offset(stones);
+        for (long rank = 0; rank < count; rank++) {
+          tablebase.position(stones, rank, pits);
+          final int[] mirrored = mirror(pitsPerPlayer, pits);
+          final String board = Arrays.toString(pits);
+          final int expected = gain(pitsPerPlayer, pits, 0);
+          assertThat(board, tablebase.contains(pits), equalTo(true));
+          assertThat(board, tablebase.value(pits, 0), equalTo(expected));
+          assertThat(board, tablebase.value(mirrored, 1), equalTo(expected));
+        }
+      }
+    }
+  }
+
+  @Test
+  void testWrittenFileIsMapped() throws IOException {
+    // given
+    final EndgameTablebase built = EndgameTablebaseGenerator.build(6, 6, line -> {});
+    final Path path = directory.resolve("endgame.tablebase");
+
+    // when
+    EndgameTablebaseGenerator.write(built, path);
+    final EndgameTablebase mapped = EndgameTablebase.open(path);
+
+    // then
+    assertThat(Files.size(path), equalTo(EndgameTablebase.HEADER_SIZE + built.size()));
+    assertThat(mapped.pitsPerPlayer(), equalTo(6));
+    assertThat(mapped.maxStones(), equalTo(6));
+    assertThat(mapped.values(), equalTo(built.values()));
+    assertThat(
+        mapped.contains(new int[] {1, 0, 0, 2, 0, 0, 30, 0, 0, 0, 0, 3, 0, 36}), equalTo(true));
+    assertThat(
+        mapped.contains(new int[] {1, 0, 0, 2, 0, 0, 30, 0, 0, 0, 0, 4, 0, 35}), equalTo(false));
+  }
+
+  private static int[] mirror(final int pitsPerPlayer, final int[] pits) {
+    final int[] mirrored = new int[pits.length];
+    for (int pitId = 0; pitId < pits.length; pitId++) {
+      mirrored[(pitId + pitsPerPlayer + 1) % pits.length] = pits[pitId];
+    }
+    return mirrored;
+  }
+
+  /** What {@code player} gains over the opponent from here with perfect play, by plain minimax. */
+  private static int gain(final int pitsPerPlayer, final int[] pits, final int player) {
+    final int first = player * (pitsPerPlayer + 1);
+    final int opponentFirst = (1 - player) * (pitsPerPlayer + 1);
+    final int own = Arrays.stream(pits, first, first + pitsPerPlayer).sum();
+    final int opponent = Arrays.stream(pits, opponentFirst, opponentFirst + pitsPerPlayer).sum();
+    if (own == 0 || opponent == 0) {
+      return own - opponent;
+    }
+    final int kalahId = first + pitsPerPlayer;
+    final int opponentKalahId = opponentFirst + pitsPerPlayer;
+    int best = Integer.MIN_VALUE;
+    for (int pitId = first; pitId < first + pitsPerPlayer; pitId++) {
+      if (pits[pitId] == 0) {
+        continue;
+      }
+      final int[] board = pits.clone();
+      final Move move = new Move(pitsPerPlayer, board, pitId);
+      move.move();
+      final int moveGain =
+          board[kalahId] - pits[kalahId] - (board[opponentKalahId] - pits[opponentKalahId]);
+      if (move.isGameOver()) {
+        best = Math.max(best, moveGain);
+      } else if (move.isExtraMove()) {
+        best = Math.max(best, moveGain + gain(pitsPerPlayer, board, player));
+      } else {
+        best = Math.max(best, moveGain - gain(pitsPerPlayer, board, 1 - player));
+      }
+    }
+    return best;
+  }
+}
@@ -0,0 +1,133 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.adorogush.backbasetask.exception.ConflictException;
+import com.adorogush.backbasetask.exception.ValidationException;
+import com.adorogush.backbasetask.model.GameAndPits;
+import com.adorogush.backbasetask.model.Player;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Stress test for optimistic concurrency. Many threads play the same game at once; every applied
+ * move must be reflected in the game version, so none of them can be lost.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class GameServiceConcurrencyTest {
+
+  private static final Logger log = LogManager.getLogger();
+  private static final int THREADS = 16;
+  private static final int GAMES = 20;
+
+  @Autowired private GameService gameService;
+
+  @Value("${numberOfPits}")
+  private int numberOfPits;
+
+  @Value("${numberOfStones}")
+  private int numberOfStones;
+
+  @Test
+  void testConcurrentMovesAreNotLost() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    final AtomicInteger totalApplied = new AtomicInteger();
+    final AtomicInteger totalConflicts = new AtomicInteger();
+    final long start = System.nanoTime();
+    try {
+      for (int i = 0; i < GAMES; i++) {
+        // given
+        final String gameId = gameService.createGame().game().id();
+        final AtomicInteger applied = new AtomicInteger();
+        final List<Future<?>> players = new ArrayList<>();
+        // when
+        for (int t = 0; t < THREADS; t++) {
+          players.add(executor.submit(() -> play(gameId, applied, totalConflicts)));
+        }
+        for (final Future<?> player : players) {
+          player.get();
+        }
+        // then
+        final GameAndPits game = gameService.readGame(gameId);
+        assertThat(game.game().gameOver(), equalTo(true));
+        assertThat(game.game().version(), equalTo((long) applied.get()));
+        assertThat(IntStream.of(game.pits()).sum(), equalTo(numberOfPits * 2 * numberOfStones));
+        totalApplied.addAndGet(applied.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    final double seconds = (System.nanoTime() - start) / 1e9;
+    log.info(
+        "Applied {} moves in {} s ({} moves/s) with {} threads, {} conflicts",
+        totalApplied.get(),
+        String.format("%.2f", seconds),
+        String.format("%.0f", totalApplied.get() / seconds),
+        THREADS,
+        totalConflicts.get());
+    // bounded retry keeps the share of moves rejected with 409 small even on a single hot game
+    assertThat(totalConflicts.get(), lessThan(totalApplied.get()));
+  }
+
+  private void play(
+      final String gameId, final AtomicInteger applied, final AtomicInteger conflicts) {
+    while (true) {
+      final GameAndPits state = gameService.readGame(gameId);
+      if (state.game().gameOver()) {
+        return;
+      }
+      try {
+        gameService.makeMove(gameId, randomPit(state));
+        applied.incrementAndGet();
+      } catch (final ValidationException e) {
+        // another thread moved first: it is the other player's turn or the game is over now
+      } catch (final ConflictException e) {
+        conflicts.incrementAndGet();
+      }
+    }
+  }
+
+  private int randomPit(final GameAndPits state) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final Player nextPlayer = state.game().nextPlayer();
+    final Player player =
+        nextPlayer != null ? nextPlayer : Player.ofIndex(random.nextInt(Player.values().length));
+    final int firstPit = player == Player.ONE ? 0 : numberOfPits + 1;
+    int pitId;
+    do {
+      pitId = firstPit + random.nextInt(numberOfPits);
+    } while (state.pits()[pitId] == 0);
+    return pitId;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.adorogush.backbasetask.model.GameAndPits;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Moves waiting for a group commit hold no connection, so there can be more of them than
+ * connections in the pool.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+@TestPropertySource(
+    properties = {
+      "groupCommit.enabled=true",
+      "groupCommit.maxDelay=50ms",
+      "spring.datasource.hikari.maximum-pool-size=2",
+      "spring.datasource.hikari.connection-timeout=1000"
+    })
+class GroupCommitGameServiceTest {
+
+  private static final int THREADS = 8;
+
+  @Autowired private GameService gameService;
+
+  @Test
+  @Timeout(30)
+  void testMoreConcurrentMovesThanConnectionsAreAllCommitted() throws Exception {
+    // given
+    final List<String> gameIds = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      gameIds.add(gameService.createGame().game().id());
+    }
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<GameAndPits>> moved = new ArrayList<>();
+    try {
+      // when
+      for (final String gameId : gameIds) {
+        moved.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return gameService.makeMove(gameId, 0);
+                }));
+      }
+      start.countDown();
+      // then
+      for (int i = 0; i < THREADS; i++) {
+        assertThat(moved.get(i).get().game().version(), equalTo(1L));
+        assertThat(gameService.readVersion(gameIds.get(i)), equalTo(1L));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,309 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.adorogush.backbasetask.model.Analysis;
+import com.adorogush.backbasetask.model.PitAnalysis;
+import com.adorogush.backbasetask.model.Player;
+import com.adorogush.backbasetask.model.SearchResult;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Differential test of {@link MoveSearch} against plain minimax without pruning, on positions
+ * reached by random play. The search runs on several threads to exercise the parallel plies. With a
+ * {@link TranspositionTable} scores found at a fixed depth may differ from minimax, as positions
+ * are answered from deeper searches, so only final scores are compared.
+ */
+class MoveSearchTest {
+
+  private static final Duration NO_LIMIT = Duration.ofHours(1);
+
+  private final MoveSearch moveSearch = new MoveSearch(4);
+
+  @AfterEach
+  void tearDown() {
+    moveSearch.shutdown();
+  }
+
+  @Test
+  void testScoresMatchMinimax() {
+    final Random random = new Random(42);
+    for (int i = 0; i < 50; i++) {
+      // given
+      final int pitsPerPlayer = 6;
+      final int[] pits = randomPosition(random, pitsPerPlayer, 6, random.nextInt(20));
+      if (pits == null) {
+        continue;
+      }
+      // both players have stones while the game is not over
+      final int player = random.nextInt(2);
+      final int depth = 1 + random.nextInt(5);
+
+      // when
+      final SearchResult result = moveSearch.search(pits, Player.ofIndex(player), NO_LIMIT, depth);
+
+      // then
+      final String board = Arrays.toString(pits) + " player " + player + " depth " + depth;
+      final int expected = minimax(pitsPerPlayer, pits, player, depth);
+      assertThat(board, result.score(), equalTo(expected));
+      assertThat(
+          board,
+          scoreOfMove(pitsPerPlayer, pits, player, result.pitId(), depth),
+          equalTo(expected));
+    }
+  }
+
+  @Test
+  void testSmallBoardIsSolved() {
+    // given
+    final int[] pits = {3, 3, 0, 3, 3, 0};
+
+    // when
+    final SearchResult result = moveSearch.search(pits, Player.ONE, NO_LIMIT);
+
+    // then
+    assertThat(result.exact(), equalTo(true));
+    assertThat(result.score(), equalTo(minimax(2, pits, 0, 100)));
+  }
+
+  @Test
+  void testSolvedScoresWithTranspositionTableMatchMinimax() {
+    final TranspositionTable table = new TranspositionTable(1 << 16);
+    final MoveSearch tableSearch = new MoveSearch(4, table);
+    try {
+      final Random random = new Random(7);
+      for (int i = 0; i < 20; i++) {
+        // given
+        final int[] pits = randomPosition(random, 3, 3, random.nextInt(6));
+        if (pits == null) {
+          continue;
+        }
+        final int player = random.nextInt(2);
+
+        // when
+        final SearchResult result = tableSearch.search(pits, Player.ofIndex(player), NO_LIMIT);
+
+        // then
+        final String board = Arrays.toString(pits) + " player " + player;
+        assertThat(board, result.exact(), equalTo(true));
+        assertThat(board, result.score(), equalTo(minimax(3, pits, player, 100)));
+      }
+      assertThat(table.hits(), greaterThan(0L));
+    } finally {
+      tableSearch.shutdown();
+    }
+  }
+
+  @Test
+  void testRepeatedSearchIsAnsweredFromTranspositionTable() {
+    final MoveSearch tableSearch = new MoveSearch(4, new TranspositionTable(1 << 16));
+    try {
+      // given
+      final int[] pits = {6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0};
+      final SearchResult first = tableSearch.search(pits, Player.ONE, NO_LIMIT, 8);
+
+      // when
+      final SearchResult second = tableSearch.search(pits, Player.ONE, NO_LIMIT, 8);
+
+      // then
+      assertThat(second.nodes(), lessThan(first.nodes() / 10));
+    } finally {
+      tableSearch.shutdown();
+    }
+  }
+
+  @Test
+  void testAnalysisScoresEveryMoveWithLegalLines() {
+    final MoveSearch tableSearch = new MoveSearch(4, new TranspositionTable(1 << 16));
+    try {
+      // given
+      final int[] pits = {2, 3, 1, 0, 3, 0, 2, 1};
+
+      // when
+      final Analysis analysis = tableSearch.analyze(pits, Player.ONE, NO_LIMIT);
+
+      // then
+      assertThat(analysis.exact(), equalTo(true));
+      assertThat(analysis.pits().size(), equalTo(3));
+      for (final PitAnalysis pit : analysis.pits()) {
+        assertThat(pit.score(), equalTo(scoreOfMove(3, pits, 0, pit.pitId(), 100)));
+        assertThat(pit.principalVariation()[0], equalTo(pit.pitId()));
+        assertLegalLine(3, pits, 0, pit.principalVariation());
+      }
+    } finally {
+      tableSearch.shutdown();
+    }
+  }
+
+  @Test
+  void testEndgameTablebaseSolvesEndgames() {
+    final EndgameTablebase tablebase = EndgameTablebaseGenerator.build(3, 8, line -> {});
+    final MoveSearch tablebaseSearch = new MoveSearch(4, null, tablebase);
+    try {
+      final Random random = new Random(11);
+      int endgames = 0;
+      for (int i = 0; i < 200; i++) {
+        // given
+        final int[] pits = randomPosition(random, 3, 4, random.nextInt(12));
+        if (pits == null || !tablebase.contains(pits)) {
+          continue;
+        }
+        endgames++;
+        final int player = random.nextInt(2);
+        if (Arrays.stream(pits, player * 4, player * 4 + 3).sum() == 0) {
+          continue;
+        }
+
+        // when
+        final SearchResult result = tablebaseSearch.search(pits, Player.ofIndex(player), NO_LIMIT);
+        final Analysis analysis = tablebaseSearch.analyze(pits, Player.ofIndex(player), NO_LIMIT);
+
+        // then
+        final String board = Arrays.toString(pits) + " player " + player;
+        assertThat(board, result.exact(), equalTo(true));
+        assertThat(board, result.depth(), equalTo(1));
+        assertThat(board, result.score(), equalTo(minimax(3, pits, player, 100)));
+        for (final PitAnalysis pit : analysis.pits()) {
+          assertThat(board, pit.score(), equalTo(scoreOfMove(3, pits, player, pit.pitId(), 100)));
+          assertLegalLine(3, pits, player, pit.principalVariation());
+          assertThat(board, endsGame(3, pits, pit.principalVariation()), equalTo(true));
+        }
+      }
+      assertThat(endgames, greaterThan(10));
+    } finally {
+      tablebaseSearch.shutdown();
+    }
+  }
+
+  @Test
+  void testTimeBudgetStillCompletesFirstDepth() {
+    // given
+    final int[] pits = {6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0};
+
+    // when
+    final SearchResult result = moveSearch.search(pits, Player.TWO, Duration.ZERO);
+
+    // then
+    assertThat(result.depth(), greaterThanOrEqualTo(1));
+    assertThat(result.pitId(), greaterThan(6));
+    assertThat(pits[result.pitId()], greaterThan(0));
+  }
+
+  private static void assertLegalLine(
+      final int pitsPerPlayer, final int[] pits, final int player, final int[] line) {
+    final int[] board = pits.clone();
+    int movingPlayer = player;
+    for (final int pitId : line) {
+      final int first = movingPlayer * (pitsPerPlayer + 1);
+      assertThat(
+          Arrays.toString(line),
+          pitId,
+          both(greaterThanOrEqualTo(first)).and(lessThan(first + pitsPerPlayer)));
+      assertThat(Arrays.toString(line), board[pitId], greaterThan(0));
+      final Move move = new Move(pitsPerPlayer, board, pitId);
+      move.move();
+      movingPlayer = move.isExtraMove() ? movingPlayer : 1 - movingPlayer;
+    }
+  }
+
+  private static boolean endsGame(final int pitsPerPlayer, final int[] pits, final int[] line) {
+    final int[] board = pits.clone();
+    boolean gameOver = false;
+    for (final int pitId : line) {
+      final Move move = new Move(pitsPerPlayer, board, pitId);
+      move.move();
+      gameOver = move.isGameOver();
+    }
+    return gameOver;
+  }
+
+  /** A position after {@code moves} random moves, or {@code null} if the game ended before. */
+  private static int[] randomPosition(
+      final Random random, final int pitsPerPlayer, final int stones, final int moves) {
+    final int[] pits = new int[pitsPerPlayer * 2 + 2];
+    for (int pitId = 0; pitId < pits.length; pitId++) {
+      if (pitId != pitsPerPlayer && pitId != pits.length - 1) {
+        pits[pitId] = stones;
+      }
+    }
+    int player = 0;
+    for (int i = 0; i < moves; i++) {
+      final int first = player * (pitsPerPlayer + 1);
+      int pitId;
+      do {
+        pitId = first + random.nextInt(pitsPerPlayer);
+      } while (pits[pitId] == 0);
+      final Move move = new Move(pitsPerPlayer, pits, pitId);
+      move.move();
+      if (move.isGameOver()) {
+        return null;
+      }
+      player = move.isExtraMove() ? player : 1 - player;
+    }
+    return pits;
+  }
+
+  private static int minimax(
+      final int pitsPerPlayer, final int[] pits, final int player, final int depth) {
+    if (depth == 0) {
+      return kalahDifference(pitsPerPlayer, pits, player);
+    }
+    int best = Integer.MIN_VALUE;
+    final int first = player * (pitsPerPlayer + 1);
+    for (int pitId = first; pitId < first + pitsPerPlayer; pitId++) {
+      if (pits[pitId] > 0) {
+        best = Math.max(best, scoreOfMove(pitsPerPlayer, pits, player, pitId, depth));
+      }
+    }
+    return best;
+  }
+
+  private static int scoreOfMove(
+      final int pitsPerPlayer,
+      final int[] pits,
+      final int player,
+      final int pitId,
+      final int depth) {
+    final int[] board = pits.clone();
+    final Move move = new Move(pitsPerPlayer, board, pitId);
+    move.move();
+    if (move.isGameOver()) {
+      final int difference = kalahDifference(pitsPerPlayer, board, player);
+      return Integer.signum(difference) * MoveSearch.WIN + difference;
+    }
+    if (move.isExtraMove()) {
+      return minimax(pitsPerPlayer, board, player, depth - 1);
+    }
+    return -minimax(pitsPerPlayer, board, 1 - player, depth - 1);
+  }
+
+  private static int kalahDifference(final int pitsPerPlayer, final int[] pits, final int player) {
+    final int own = pits[player == 0 ? pitsPerPlayer : pits.length - 1];
+    final int opponent = pits[player == 0 ? pits.length - 1 : pitsPerPlayer];
+    return own - opponent;
+  }
+}
@@ -0,0 +1,163 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Differential test of {@link Move} against {@link StoneByStoneMove}, the straightforward
+ * implementation that sows one stone at a time: every board of small sizes with few stones and
+ * random boards with many stones.
+ */
+class MoveTest {
+
+  @Test
+  void testAllSmallBoards() {
+    assertAllBoards(1, 30);
+    assertAllBoards(2, 7);
+    assertAllBoards(3, 4);
+  }
+
+  @Test
+  void testRandomBoardsWithManyStones() {
+    final Random random = new Random(42);
+    for (int i = 0; i < 100_000; i++) {
+      final int pitsPerPlayer = 1 + random.nextInt(8);
+      final int[] pits = new int[pitsPerPlayer * 2 + 2];
+      final int maxStones = random.nextBoolean() ? 5 : 200;
+      for (int pitId = 0; pitId < pits.length; pitId++) {
+        // empty pits make captures and the end of the game likely
+        pits[pitId] = random.nextInt(3) == 0 ? 0 : random.nextInt(maxStones);
+      }
+      final int pitId = random.nextInt(pits.length);
+      if (pitId != pitsPerPlayer && pitId != pits.length - 1) {
+        assertSameMove(pitsPerPlayer, pits, pitId);
+      }
+    }
+  }
+
+  /** Every distribution of up to {@code maxStones} stones per pit, kalahs included. */
+  private static void assertAllBoards(final int pitsPerPlayer, final int maxStones) {
+    final int[] pits = new int[pitsPerPlayer * 2 + 2];
+    do {
+      for (int pitId = 0; pitId < pits.length; pitId++) {
+        if (pitId != pitsPerPlayer && pitId != pits.length - 1) {
+          assertSameMove(pitsPerPlayer, pits, pitId);
+        }
+      }
+    } while (nextBoard(pits, maxStones));
+  }
+
+  private static boolean nextBoard(final int[] pits, final int maxStones) {
+    for (int pitId = 0; pitId < pits.length; pitId++) {
+      if (pits[pitId] < maxStones) {
+        pits[pitId]++;
+        return true;
+      }
+      pits[pitId] = 0;
+    }
+    return false;
+  }
+
+  private static void assertSameMove(final int pitsPerPlayer, final int[] pits, final int pitId) {
+    final int[] expectedPits = pits.clone();
+    final StoneByStoneMove expected = new StoneByStoneMove(pitsPerPlayer, expectedPits, pitId);
+    expected.move();
+    final int[] actualPits = pits.clone();
+    final Move actual = new Move(pitsPerPlayer, actualPits, pitId);
+    actual.move();
+    if (Arrays.equals(actualPits, expectedPits)
+        && actual.isExtraMove() == expected.extraMove
+        && actual.isGameOver() == expected.gameOver) {
+      return;
+    }
+    final String board = Arrays.toString(pits) + " pit " + pitId;
+    assertThat(board, actualPits, equalTo(expectedPits));
+    assertThat(board, actual.isExtraMove(), equalTo(expected.extraMove));
+    assertThat(board, actual.isGameOver(), equalTo(expected.gameOver));
+  }
+
+  /** The previous implementation of {@link Move}. */
+  private static final class StoneByStoneMove {
+
+    private final int pitsPerPlayer;
+    private final int[] pits;
+    private final int pitId;
+    private boolean extraMove;
+    private boolean gameOver;
+
+    private StoneByStoneMove(final int pitsPerPlayer, final int[] pits, final int pitId) {
+      this.pitsPerPlayer = pitsPerPlayer;
+      this.pits = pits;
+      this.pitId = pitId;
+    }
+
+    private void move() {
+      final boolean playerOne = isPlayerOne(pitId);
+      int stones = pits[pitId];
+      if (stones <= 0) {
+        return;
+      }
+      pits[pitId] = 0;
+      int currentPitId = pitId;
+      boolean isKalah = false;
+      boolean isMyPit = true;
+      while (stones > 0) {
+        currentPitId = (currentPitId + 1) % (pitsPerPlayer * 2 + 2);
+        isKalah = (currentPitId + 1) % (pitsPerPlayer + 1) == 0;
+        isMyPit = isPlayerOne(currentPitId) == playerOne;
+        if (!isKalah || isMyPit) {
+          pits[currentPitId]++;
+          stones--;
+        }
+      }
+      extraMove = isKalah;
+      if (!isKalah && isMyPit && pits[currentPitId] == 1) {
+        final int kalahId = playerOne ? pitsPerPlayer : pitsPerPlayer * 2 + 1;
+        final int oppositePitId = pitsPerPlayer * 2 - currentPitId;
+        pits[kalahId] += pits[currentPitId] + pits[oppositePitId];
+        pits[currentPitId] = 0;
+        pits[oppositePitId] = 0;
+      }
+      final int playerOneStonesLeft = sum(0, pitsPerPlayer);
+      final int playerTwoStonesLeft = sum(pitsPerPlayer + 1, pitsPerPlayer * 2 + 1);
+      gameOver = playerOneStonesLeft == 0 || playerTwoStonesLeft == 0;
+      if (gameOver) {
+        Arrays.fill(pits, 0, pitsPerPlayer, 0);
+        Arrays.fill(pits, pitsPerPlayer + 1, pitsPerPlayer * 2 + 1, 0);
+        pits[pitsPerPlayer] += playerOneStonesLeft;
+        pits[pitsPerPlayer * 2 + 1] += playerTwoStonesLeft;
+      }
+    }
+
+    private boolean isPlayerOne(final int pitId) {
+      return pitId < pitsPerPlayer + 1;
+    }
+
+    private int sum(final int fromIndex, final int toIndex) {
+      int sum = 0;
+      for (int i = fromIndex; i < toIndex; i++) {
+        sum += pits[i];
+      }
+      return sum;
+    }
+  }
+}
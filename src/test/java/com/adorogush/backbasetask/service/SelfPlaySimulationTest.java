@@ -0,0 +1,94 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SelfPlaySimulationTest {
+
+  @Test
+  void testTotalsDoNotDependOnThreads() {
+    // given
+    final SelfPlaySimulation simulation =
+        new SelfPlaySimulation(6, 4, SelfPlayPolicy.random(), SelfPlayPolicy.greedy());
+
+    // when
+    final SelfPlayStatistics oneThread = simulation.run(25_000, 42, 1, statistics -> {});
+    final SelfPlayStatistics threeThreads = simulation.run(25_000, 42, 3, statistics -> {});
+
+    // then
+    assertThat(threeThreads.games(), equalTo(25_000L));
+    assertThat(threeThreads.playerOneWins(), equalTo(oneThread.playerOneWins()));
+    assertThat(threeThreads.playerTwoWins(), equalTo(oneThread.playerTwoWins()));
+    assertThat(threeThreads.moves(), equalTo(oneThread.moves()));
+    assertThat(threeThreads.longestGame(), equalTo(oneThread.longestGame()));
+    assertThat(threeThreads.averageScoreDifference(), equalTo(oneThread.averageScoreDifference()));
+    for (int pitId = 0; pitId < 14; pitId++) {
+      assertThat(threeThreads.pitMoves(pitId), equalTo(oneThread.pitMoves(pitId)));
+      assertThat(threeThreads.extraMoves(pitId), equalTo(oneThread.extraMoves(pitId)));
+    }
+  }
+
+  @Test
+  void testProgressIsReportedPerBatchAndAddsUp() {
+    // given
+    final SelfPlaySimulation simulation =
+        new SelfPlaySimulation(6, 6, SelfPlayPolicy.random(), SelfPlayPolicy.random());
+    final List<Long> reported = new ArrayList<>();
+
+    // when
+    final SelfPlayStatistics statistics =
+        simulation.run(
+            2 * SelfPlaySimulation.BATCH_SIZE + 1, 7, 2, running -> reported.add(running.games()));
+
+    // then
+    assertThat(reported.size(), equalTo(3));
+    assertThat(reported.get(2), equalTo(2L * SelfPlaySimulation.BATCH_SIZE + 1));
+    assertThat(
+        statistics.playerOneWins() + statistics.playerTwoWins() + statistics.draws(),
+        equalTo(statistics.games()));
+    long moves = 0;
+    for (int pitId = 0; pitId < 14; pitId++) {
+      moves += statistics.pitMoves(pitId);
+    }
+    assertThat(moves, equalTo(statistics.moves()));
+    assertThat(statistics.pitMoves(6), equalTo(0L));
+    // six stones in the first pit of a side always end in the own kalah
+    assertThat(statistics.extraMoveFrequency(0), greaterThan(0.0));
+    assertThat(statistics.extraMoves(7), greaterThan(0L));
+  }
+
+  @Test
+  void testSearchBeatsGreedyAndGreedyBeatsRandom() {
+    // when
+    final SelfPlayStatistics greedyFirst =
+        new SelfPlaySimulation(6, 6, SelfPlayPolicy.greedy(), SelfPlayPolicy.random())
+            .run(2_000, 1, 0, statistics -> {});
+    final SelfPlayStatistics searchSecond =
+        new SelfPlaySimulation(6, 6, SelfPlayPolicy.greedy(), SelfPlayPolicy.search(4))
+            .run(500, 1, 0, statistics -> {});
+
+    // then
+    assertThat(greedyFirst.playerOneWins(), greaterThan(greedyFirst.games() * 3 / 4));
+    assertThat(searchSecond.playerTwoWins(), greaterThan(searchSecond.games() * 3 / 4));
+  }
+}
@@ -0,0 +1,79 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/** Ids are version 7 uuids, increase within one millisecond and survive the text round trip. */
+class TimeOrderedIdProviderTest {
+
+  @Test
+  void testIdsIncreaseWithinOneMillisecond() {
+    // given
+    final Instant now = Instant.parse("2020-09-01T12:00:00Z");
+    final TimeOrderedIdProvider idProvider =
+        new TimeOrderedIdProvider(Clock.fixed(now, ZoneOffset.UTC));
+    String previous = idProvider.get();
+    // when 3 times the counter range
+    for (int i = 0; i < 3 * 4096; i++) {
+      final String id = idProvider.get();
+      // then
+      assertThat(id.length(), equalTo(26));
+      assertThat(id.compareTo(previous), greaterThan(0));
+      previous = id;
+    }
+    final UUID uuid = GameIdCodec.parse(previous).orElseThrow();
+    assertThat(uuid.version(), equalTo(7));
+    assertThat(uuid.variant(), equalTo(2));
+    assertThat(uuid.getMostSignificantBits() >>> 16, equalTo(now.toEpochMilli() + 3));
+  }
+
+  @Test
+  void testTextFormRoundTrip() {
+    for (int i = 0; i < 1000; i++) {
+      final UUID uuid = UUID.randomUUID();
+      final String id = GameIdCodec.format(uuid);
+      assertThat(GameIdCodec.parse(id), equalTo(Optional.of(uuid)));
+      assertThat(GameIdCodec.parse(id.toUpperCase()), equalTo(Optional.empty()));
+      assertThat(GameIdCodec.parse(uuid.toString()), equalTo(Optional.empty()));
+      assertThat(GameIdCodec.canonical(id), equalTo(Optional.of(id)));
+      assertThat(GameIdCodec.canonical(id.toUpperCase()), equalTo(Optional.of(id)));
+      assertThat(GameIdCodec.canonical(uuid.toString()), equalTo(Optional.of(id)));
+    }
+    assertThat(GameIdCodec.parse("8zzzzzzzzzzzzzzzzzzzzzzzzz"), equalTo(Optional.empty()));
+    assertThat(GameIdCodec.parse("0000000000000000000000000u"), equalTo(Optional.empty()));
+    assertThat(GameIdCodec.parse("unknown"), equalTo(Optional.empty()));
+    assertThat(GameIdCodec.canonical("8ZZZZZZZZZZZZZZZZZZZZZZZZZ"), equalTo(Optional.empty()));
+    assertThat(GameIdCodec.canonical("unknown"), equalTo(Optional.empty()));
+    // UUID.fromString reads these as 00000000-0000-0000-0000-000000000001
+    assertThat(
+        GameIdCodec.canonical("0000000-00000-0000-0000-000000000001"), equalTo(Optional.empty()));
+    assertThat(
+        GameIdCodec.canonical("+0000000-0000-0000-0000-000000000001"), equalTo(Optional.empty()));
+    assertThat(
+        GameIdCodec.canonical("00000000-0000-0000-0000-000000000001"),
+        equalTo(Optional.of("00000000000000000000000001")));
+  }
+}
@@ -0,0 +1,90 @@
+/*
+* Copyright 2026 Aleksandr Dorogush
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package com.adorogush.backbasetask.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.jupiter.api.Test;
+
+class TranspositionTableTest {
+
+  @Test
+  void testStoredEntryIsFoundWithItsFields() {
+    // given
+    final TranspositionTable table = new TranspositionTable(1000);
+    final long hash = TranspositionTable.hash(new int[] {6, 6, 6, 6, 6, 6, 0}, 1);
+    // when
+    table.store(hash, -1042, 12, TranspositionTable.UPPER, 9);
+    final long entry = table.probe(hash);
+    // then
+    assertThat(TranspositionTable.score(entry), equalTo(-1042));
+    assertThat(TranspositionTable.depth(entry), equalTo(12));
+    assertThat(TranspositionTable.bound(entry), equalTo(TranspositionTable.UPPER));
+    assertThat(TranspositionTable.pitId(entry), equalTo(9));
+    assertThat(table.hits(), equalTo(1L));
+    assertThat(table.bytes(), equalTo(1024L * 16));
+  }
+
+  @Test
+  void testDeepEntryOfCurrentSearchSurvivesShallowOnes() {
+    // given
+    final TranspositionTable table = new TranspositionTable(2);
+    final long deep = TranspositionTable.hash(new int[] {1, 0, 0, 0}, 0);
+    final long shallow = TranspositionTable.hash(new int[] {2, 0, 0, 0}, 0);
+    final long shallower = TranspositionTable.hash(new int[] {3, 0, 0, 0}, 0);
+    table.store(deep, 1, 9, TranspositionTable.EXACT, 0);
+    // when
+    table.store(shallow, 2, 3, TranspositionTable.EXACT, 0);
+    table.store(shallower, 3, 2, TranspositionTable.EXACT, 0);
+    // then
+    assertThat(TranspositionTable.depth(table.probe(deep)), equalTo(9));
+    assertThat(table.probe(shallow), equalTo(0L));
+    assertThat(TranspositionTable.depth(table.probe(shallower)), equalTo(2));
+  }
+
+  @Test
+  void testDeepEntryOfEarlierSearchIsReplaced() {
+    // given
+    final TranspositionTable table = new TranspositionTable(2);
+    final long deep = TranspositionTable.hash(new int[] {1, 0, 0, 0}, 0);
+    final long shallow = TranspositionTable.hash(new int[] {2, 0, 0, 0}, 0);
+    table.store(deep, 1, 9, TranspositionTable.EXACT, 0);
+    // when
+    table.newSearch();
+    table.store(shallow, 2, 3, TranspositionTable.EXACT, 0);
+    // then
+    assertThat(table.probe(deep), equalTo(0L));
+    assertThat(TranspositionTable.depth(table.probe(shallow)), equalTo(3));
+  }
+
+  @Test
+  void testOtherPositionInSameSlotIsMiss() {
+    // given
+    final TranspositionTable table = new TranspositionTable(1);
+    final long hash = TranspositionTable.hash(new int[] {1, 2, 0, 3, 4, 0}, 0);
+    final long otherHash = TranspositionTable.hash(new int[] {1, 2, 0, 3, 4, 0}, 1);
+    table.store(hash, 5, 3, TranspositionTable.EXACT, 1);
+    // when
+    final long entry = table.probe(otherHash);
+    // then
+    assertThat(otherHash, not(equalTo(hash)));
+    assertThat(entry, equalTo(0L));
+    assertThat(table.probes(), equalTo(1L));
+    assertThat(table.hits(), equalTo(0L));
+  }
+}